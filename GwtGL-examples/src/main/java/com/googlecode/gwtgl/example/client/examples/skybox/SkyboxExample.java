@@ -34,7 +34,7 @@ import com.googlecode.gwtgl.binding.WebGLTexture;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 import com.googlecode.gwtgl.example.client.AbstractGwtGLExample;
 import com.googlecode.gwtgl.example.client.util.MatrixWidget;
-import com.googlecode.gwtgl.example.client.util.math.FloatMatrix;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 import com.googlecode.gwtgl.example.client.util.math.MatrixUtil;
 import com.googlecode.gwtgl.example.client.util.mesh.CubeFactory;
 import com.googlecode.gwtgl.example.client.util.mesh.Mesh;
@@ -65,10 +65,11 @@ public class SkyboxExample extends AbstractGwtGLExample {
 	private WebGLBuffer buffer;
 
 	private float translateZ = 0;
-	private FloatMatrix perspectiveMatrix;
-	private FloatMatrix translationMatrix;
-	private FloatMatrix rotationMatrix;
-	private FloatMatrix resultingMatrix;
+	private final Matrix4f perspectiveMatrix = new Matrix4f();
+	private final Matrix4f translationMatrix = new Matrix4f();
+	private final Matrix4f rotationMatrix = new Matrix4f();
+	private final Matrix4f resultingMatrix = new Matrix4f();
+	private final Float32Array resultingMatrixData = Float32Array.create(16);
 	private Camera camera = new Camera();
 	private int texCoordsOffset;
 	private int vertexPositionAttribute;
@@ -256,12 +257,12 @@ public class SkyboxExample extends AbstractGwtGLExample {
 		glContext.vertexAttribPointer(textureCoordAttribute, 2, WebGLRenderingContext.FLOAT, false, 0, texCoordsOffset);
 		WebGLUniformLocation mvUniform = glContext.getUniformLocation(shaderProgram, "projectionMatrix");
 
-		perspectiveMatrix = MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100);
-		translationMatrix = MatrixUtil.createTranslationMatrix(0, 0, translateZ);
-		rotationMatrix = MatrixUtil.createRotationMatrix(camera.getRotationXAxis(), camera.getRotationYAxis(), 0);
-		resultingMatrix = perspectiveMatrix.multiply(translationMatrix).multiply(rotationMatrix);
+		MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100, perspectiveMatrix);
+		MatrixUtil.createTranslationMatrix(0, 0, translateZ, translationMatrix);
+		MatrixUtil.createRotationMatrix(camera.getRotationXAxis(), camera.getRotationYAxis(), 0, rotationMatrix);
+		resultingMatrix.mulLocal(perspectiveMatrix, translationMatrix).mulLocal(rotationMatrix);
 
-		glContext.uniformMatrix4fv(mvUniform, false, resultingMatrix.getColumnWiseFlatData());
+		glContext.uniformMatrix4fv(mvUniform, false, resultingMatrix.store(resultingMatrixData));
 		glContext.uniform1i(textureUniform, 0);
 		
 		glContext.activeTexture(WebGLRenderingContext.TEXTURE0);
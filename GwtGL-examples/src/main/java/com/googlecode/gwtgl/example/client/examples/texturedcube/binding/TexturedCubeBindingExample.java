@@ -31,6 +31,7 @@ import com.google.gwt.user.client.ui.HorizontalPanel;
 import com.google.gwt.user.client.ui.Image;
 import com.google.gwt.user.client.ui.RootPanel;
 import com.google.gwt.user.client.ui.VerticalPanel;
+import com.googlecode.gwtgl.binding.CommandList;
 import com.googlecode.gwtgl.binding.WebGLBuffer;
 import com.googlecode.gwtgl.binding.WebGLProgram;
 import com.googlecode.gwtgl.binding.WebGLRenderingContext;
@@ -39,7 +40,7 @@ import com.googlecode.gwtgl.binding.WebGLTexture;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 import com.googlecode.gwtgl.example.client.AbstractGwtGLExample;
 import com.googlecode.gwtgl.example.client.util.MatrixWidget;
-import com.googlecode.gwtgl.example.client.util.math.FloatMatrix;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 import com.googlecode.gwtgl.example.client.util.math.MatrixUtil;
 import com.googlecode.gwtgl.example.client.util.mesh.CubeFactory;
 import com.googlecode.gwtgl.example.client.util.mesh.Mesh;
@@ -62,10 +63,11 @@ public class TexturedCubeBindingExample extends AbstractGwtGLExample {
 	private int angleY = 0;
 	private int angleZ = 0;
 	private float translateZ = -2;
-	private FloatMatrix perspectiveMatrix;
-	private FloatMatrix translationMatrix;
-	private FloatMatrix rotationMatrix;
-	private FloatMatrix resultingMatrix;
+	private final Matrix4f perspectiveMatrix = new Matrix4f();
+	private final Matrix4f translationMatrix = new Matrix4f();
+	private final Matrix4f rotationMatrix = new Matrix4f();
+	private final Matrix4f resultingMatrix = new Matrix4f();
+	private final Float32Array resultingMatrixData = Float32Array.create(16);
 	
 	private WebGLProgram shaderProgram;
 	private int vertexPositionAttribute;
@@ -75,6 +77,7 @@ public class TexturedCubeBindingExample extends AbstractGwtGLExample {
 	private WebGLUniformLocation projectionMatrixUniform;
 	private WebGLUniformLocation textureUniform;
 	private WebGLTexture texture;
+	private final CommandList drawCommands = new CommandList();
 
 	/**
 	 * Constructs an instance of the TexturedCubeWrapperExample.
@@ -114,6 +117,7 @@ public class TexturedCubeBindingExample extends AbstractGwtGLExample {
 		initBuffers();
 		initTexture();
 		initControls();
+		initDrawCommands();
 
 		showMatrices();
 	}
@@ -288,6 +292,33 @@ public class TexturedCubeBindingExample extends AbstractGwtGLExample {
 		checkErrors();
 	}
 
+	/**
+	 * Records the calls that are issued unchanged every frame. The projection
+	 * matrix is uploaded from resultingMatrixData, so only its contents have
+	 * to be updated before the list is replayed.
+	 */
+	private void initDrawCommands() {
+		drawCommands.clear(WebGLRenderingContext.COLOR_BUFFER_BIT | WebGLRenderingContext.DEPTH_BUFFER_BIT);
+
+		// Load the vertex data
+		drawCommands.bindBuffer(WebGLRenderingContext.ARRAY_BUFFER, vertexBuffer);
+		drawCommands.vertexAttribPointer(vertexPositionAttribute, 3, WebGLRenderingContext.FLOAT, false, 0, 0);
+		
+		// Load the texture coordinates data
+		drawCommands.bindBuffer(WebGLRenderingContext.ARRAY_BUFFER, vertexTextureCoordBuffer);
+		drawCommands.vertexAttribPointer(textureCoordAttribute, 2, WebGLRenderingContext.FLOAT, false, 0, 0);
+
+		drawCommands.uniformMatrix4fv(projectionMatrixUniform, false, resultingMatrixData);
+		
+		// Bind the texture to texture unit 0
+		drawCommands.activeTexture(WebGLRenderingContext.TEXTURE0);
+		drawCommands.bindTexture(WebGLRenderingContext.TEXTURE_2D, texture);
+
+		// Point the uniform sampler to texture unit 0
+		drawCommands.uniform1i(textureUniform, 0);
+		drawCommands.drawArrays(WebGLRenderingContext.TRIANGLES, 0, 36);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -299,33 +330,13 @@ public class TexturedCubeBindingExample extends AbstractGwtGLExample {
 		angleY = (angleY + 1) % 360;
 		// angleZ=(angleZ+2)%360;
 
-		glContext.clear(WebGLRenderingContext.COLOR_BUFFER_BIT | WebGLRenderingContext.DEPTH_BUFFER_BIT);
+		MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100, perspectiveMatrix);
+		MatrixUtil.createTranslationMatrix(0, 0, translateZ, translationMatrix);
+		MatrixUtil.createRotationMatrix(angleX, angleY, angleZ, rotationMatrix);
+		resultingMatrix.mulLocal(perspectiveMatrix, translationMatrix).mulLocal(rotationMatrix);
+		resultingMatrix.store(resultingMatrixData);
 
-		glContext.vertexAttribPointer(vertexPositionAttribute, 3,
-				WebGLRenderingContext.FLOAT, false, 0, 0);
-
-		// Load the vertex data
-		glContext.bindBuffer(WebGLRenderingContext.ARRAY_BUFFER, vertexBuffer);
-		glContext.vertexAttribPointer(vertexPositionAttribute, 3, WebGLRenderingContext.FLOAT, false, 0, 0);
-		
-		// Load the texture coordinates data
-		glContext.bindBuffer(WebGLRenderingContext.ARRAY_BUFFER, vertexTextureCoordBuffer);
-		glContext.vertexAttribPointer(textureCoordAttribute, 2, WebGLRenderingContext.FLOAT, false, 0, 0);
-
-		perspectiveMatrix = MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100);
-		translationMatrix = MatrixUtil.createTranslationMatrix(0, 0, translateZ);
-		rotationMatrix = MatrixUtil.createRotationMatrix(angleX, angleY, angleZ);
-		resultingMatrix = perspectiveMatrix.multiply(translationMatrix).multiply(rotationMatrix);
-
-		glContext.uniformMatrix4fv(projectionMatrixUniform, false, resultingMatrix.getColumnWiseFlatData());
-		
-		// Bind the texture to texture unit 0
-		glContext.activeTexture(WebGLRenderingContext.TEXTURE0);
-		glContext.bindTexture(WebGLRenderingContext.TEXTURE_2D, texture);
-
-		// Point the uniform sampler to texture unit 0
-		glContext.uniform1i(textureUniform, 0);
-		glContext.drawArrays(WebGLRenderingContext.TRIANGLES, 0, 36);
+		drawCommands.replay(glContext);
 		glContext.flush();
 		checkErrors();
 	}
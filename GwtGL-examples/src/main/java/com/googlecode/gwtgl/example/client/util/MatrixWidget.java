@@ -20,6 +20,7 @@ import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlexTable;
 import com.google.gwt.user.client.ui.Label;
 import com.googlecode.gwtgl.example.client.util.math.FloatMatrix;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 
 /**
  * Widget to display a FloatMatrix.
@@ -82,4 +83,21 @@ public class MatrixWidget extends Composite {
 			}
 		}
 	}
+
+	/**
+	 * Set widget display data to data of the given Matrix4f
+	 * 
+	 * @param matrix
+	 */
+	public void setData(Matrix4f matrix) {
+		if (matrix == null) {
+			return;
+		}
+		for (int spalte = 0; spalte < width; spalte++) {
+			for (int zeile = 0; zeile < height; zeile++) {
+				flextable.setText(zeile + 1, spalte, "["
+						+ formatter.format(matrix.get(zeile, spalte)) + "]");
+			}
+		}
+	}
 }
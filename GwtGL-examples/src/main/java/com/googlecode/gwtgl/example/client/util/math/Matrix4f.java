@@ -0,0 +1,389 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.example.client.util.math;
+
+import com.google.gwt.typedarrays.client.Float32Array;
+
+/**
+ * Representation of a 4x4 matrix stored in a single float array. In contrast
+ * to {@link FloatMatrix4x4} the data is saved column-wise, which is the format
+ * expected by WebGL, and all operations modify the matrix in place.
+ *
+ * The element in row r and column c is stored at index c * 4 + r.
+ */
+public class Matrix4f {
+
+	/**
+	 * The column-wise data of the matrix.
+	 */
+	private final float[] data = new float[16];
+
+	/**
+	 * Constructs a new identity matrix.
+	 */
+	public Matrix4f() {
+		setIdentity();
+	}
+
+	/**
+	 * Constructs a new matrix with the values of the given matrix.
+	 *
+	 * @param other
+	 *            the matrix to copy
+	 */
+	public Matrix4f(Matrix4f other) {
+		set(other);
+	}
+
+	/**
+	 * Returns the element in the given row and column.
+	 *
+	 * @param row
+	 * @param column
+	 * @return the element in the given row and column
+	 */
+	public float get(int row, int column) {
+		return data[column * 4 + row];
+	}
+
+	/**
+	 * Sets the element in the given row and column.
+	 *
+	 * @param row
+	 * @param column
+	 * @param value
+	 */
+	public void set(int row, int column, float value) {
+		data[column * 4 + row] = value;
+	}
+
+	/**
+	 * Returns the column-wise data of the matrix. The returned array is the
+	 * backing array of the matrix and is not copied, so it can be passed to
+	 * uniformMatrix4fv directly.
+	 *
+	 * @return the column-wise data of the matrix
+	 */
+	public float[] getData() {
+		return data;
+	}
+
+	/**
+	 * Copies the column-wise data of the matrix into the given
+	 * {@link Float32Array} without allocating any intermediate array.
+	 *
+	 * @param dest
+	 *            the array to write to, must hold at least 16 elements
+	 * @return the given array
+	 */
+	public Float32Array store(Float32Array dest) {
+		return store(dest, 0);
+	}
+
+	/**
+	 * Copies the column-wise data of the matrix into the given
+	 * {@link Float32Array} starting at the given index without allocating any
+	 * intermediate array.
+	 *
+	 * @param dest
+	 *            the array to write to
+	 * @param offset
+	 *            the index of the first element to write
+	 * @return the given array
+	 */
+	public Float32Array store(Float32Array dest, int offset) {
+		for (int i = 0; i < 16; i++) {
+			dest.set(offset + i, data[i]);
+		}
+		return dest;
+	}
+
+	/**
+	 * Sets this matrix to the values of the given matrix.
+	 *
+	 * @param other
+	 * @return this matrix
+	 */
+	public Matrix4f set(Matrix4f other) {
+		System.arraycopy(other.data, 0, data, 0, 16);
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to the values of the given {@link FloatMatrix4x4}.
+	 *
+	 * @param other
+	 * @return this matrix
+	 */
+	public Matrix4f set(FloatMatrix4x4 other) {
+		for (int row = 0; row < 4; row++) {
+			for (int column = 0; column < 4; column++) {
+				data[column * 4 + row] = other.data[row][column];
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to the identity matrix.
+	 *
+	 * @return this matrix
+	 */
+	public Matrix4f setIdentity() {
+		for (int i = 0; i < 16; i++) {
+			data[i] = 0;
+		}
+		data[0] = 1;
+		data[5] = 1;
+		data[10] = 1;
+		data[15] = 1;
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to the product a * b. This matrix may be the same
+	 * instance as a or b.
+	 *
+	 * @param a
+	 *            the left matrix
+	 * @param b
+	 *            the right matrix
+	 * @return this matrix
+	 */
+	public Matrix4f mulLocal(Matrix4f a, Matrix4f b) {
+		float[] m = a.data;
+		float[] n = b.data;
+		float a00 = m[0], a10 = m[1], a20 = m[2], a30 = m[3];
+		float a01 = m[4], a11 = m[5], a21 = m[6], a31 = m[7];
+		float a02 = m[8], a12 = m[9], a22 = m[10], a32 = m[11];
+		float a03 = m[12], a13 = m[13], a23 = m[14], a33 = m[15];
+		for (int column = 0; column < 4; column++) {
+			int i = column * 4;
+			float b0 = n[i], b1 = n[i + 1], b2 = n[i + 2], b3 = n[i + 3];
+			data[i] = a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+			data[i + 1] = a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+			data[i + 2] = a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+			data[i + 3] = a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+		}
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to the product this * other.
+	 *
+	 * @param other
+	 *            the right matrix
+	 * @return this matrix
+	 */
+	public Matrix4f mulLocal(Matrix4f other) {
+		return mulLocal(this, other);
+	}
+
+	/**
+	 * Transposes this matrix.
+	 *
+	 * @return this matrix
+	 */
+	public Matrix4f transposeLocal() {
+		float tmp;
+		for (int row = 0; row < 4; row++) {
+			for (int column = row + 1; column < 4; column++) {
+				tmp = data[column * 4 + row];
+				data[column * 4 + row] = data[row * 4 + column];
+				data[row * 4 + column] = tmp;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Calculate determinant of matrix
+	 *
+	 * @return determinant
+	 */
+	public float det() {
+		float[] m = data;
+		float s0 = m[0] * m[5] - m[4] * m[1];
+		float s1 = m[0] * m[9] - m[8] * m[1];
+		float s2 = m[0] * m[13] - m[12] * m[1];
+		float s3 = m[4] * m[9] - m[8] * m[5];
+		float s4 = m[4] * m[13] - m[12] * m[5];
+		float s5 = m[8] * m[13] - m[12] * m[9];
+		float c5 = m[10] * m[15] - m[14] * m[11];
+		float c4 = m[6] * m[15] - m[14] * m[7];
+		float c3 = m[6] * m[11] - m[10] * m[7];
+		float c2 = m[2] * m[15] - m[14] * m[3];
+		float c1 = m[2] * m[11] - m[10] * m[3];
+		float c0 = m[2] * m[7] - m[6] * m[3];
+		return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+	}
+
+	/**
+	 * Inverts this matrix.
+	 *
+	 * @return this matrix
+	 */
+	public Matrix4f invertLocal() {
+		float[] m = data;
+		float s0 = m[0] * m[5] - m[4] * m[1];
+		float s1 = m[0] * m[9] - m[8] * m[1];
+		float s2 = m[0] * m[13] - m[12] * m[1];
+		float s3 = m[4] * m[9] - m[8] * m[5];
+		float s4 = m[4] * m[13] - m[12] * m[5];
+		float s5 = m[8] * m[13] - m[12] * m[9];
+		float c5 = m[10] * m[15] - m[14] * m[11];
+		float c4 = m[6] * m[15] - m[14] * m[7];
+		float c3 = m[6] * m[11] - m[10] * m[7];
+		float c2 = m[2] * m[15] - m[14] * m[3];
+		float c1 = m[2] * m[11] - m[10] * m[3];
+		float c0 = m[2] * m[7] - m[6] * m[3];
+		float det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		if (det == 0) {
+			throw new IllegalStateException(
+					"inverse cannot be calculated because det is 0");
+		}
+		float invDet = 1 / det;
+
+		float b00 = (m[5] * c5 - m[9] * c4 + m[13] * c3) * invDet;
+		float b01 = (-m[4] * c5 + m[8] * c4 - m[12] * c3) * invDet;
+		float b02 = (m[7] * s5 - m[11] * s4 + m[15] * s3) * invDet;
+		float b03 = (-m[6] * s5 + m[10] * s4 - m[14] * s3) * invDet;
+		float b10 = (-m[1] * c5 + m[9] * c2 - m[13] * c1) * invDet;
+		float b11 = (m[0] * c5 - m[8] * c2 + m[12] * c1) * invDet;
+		float b12 = (-m[3] * s5 + m[11] * s2 - m[15] * s1) * invDet;
+		float b13 = (m[2] * s5 - m[10] * s2 + m[14] * s1) * invDet;
+		float b20 = (m[1] * c4 - m[5] * c2 + m[13] * c0) * invDet;
+		float b21 = (-m[0] * c4 + m[4] * c2 - m[12] * c0) * invDet;
+		float b22 = (m[3] * s4 - m[7] * s2 + m[15] * s0) * invDet;
+		float b23 = (-m[2] * s4 + m[6] * s2 - m[14] * s0) * invDet;
+		float b30 = (-m[1] * c3 + m[5] * c1 - m[9] * c0) * invDet;
+		float b31 = (m[0] * c3 - m[4] * c1 + m[8] * c0) * invDet;
+		float b32 = (-m[3] * s3 + m[7] * s1 - m[11] * s0) * invDet;
+		float b33 = (m[2] * s3 - m[6] * s1 + m[10] * s0) * invDet;
+
+		// bXY is the element in row Y and column X of the inverse
+		m[0] = b00;
+		m[1] = b10;
+		m[2] = b20;
+		m[3] = b30;
+		m[4] = b01;
+		m[5] = b11;
+		m[6] = b21;
+		m[7] = b31;
+		m[8] = b02;
+		m[9] = b12;
+		m[10] = b22;
+		m[11] = b32;
+		m[12] = b03;
+		m[13] = b13;
+		m[14] = b23;
+		m[15] = b33;
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to a perspective projection matrix. The values are
+	 * calculated the same way as in
+	 * {@link MatrixUtil#createPerspectiveMatrix(int, float, float, float)}.
+	 *
+	 * @param fieldOfViewVertical
+	 *            the vertical field of view in degrees
+	 * @param aspectRatio
+	 *            the aspect ratio of the viewport
+	 * @param minimumClearance
+	 *            the distance to the near clipping plane
+	 * @param maximumClearance
+	 *            the distance to the far clipping plane
+	 * @return this matrix
+	 */
+	public Matrix4f setPerspective(float fieldOfViewVertical,
+			float aspectRatio, float minimumClearance, float maximumClearance) {
+		double fieldOfViewInRad = fieldOfViewVertical * Math.PI / 180.0;
+		double tan = Math.tan(fieldOfViewInRad);
+		for (int i = 0; i < 16; i++) {
+			data[i] = 0;
+		}
+		data[0] = (float) (tan / aspectRatio);
+		data[5] = (float) (1 / tan);
+		data[10] = (minimumClearance + maximumClearance)
+				/ (minimumClearance - maximumClearance);
+		data[11] = -1;
+		data[14] = 2 * minimumClearance * maximumClearance
+				/ (minimumClearance - maximumClearance);
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to the rotation around the x, y and z axis. The result
+	 * is the same as
+	 * {@link MatrixUtil#createRotationMatrix(int, int, int)}.
+	 *
+	 * @param angleX
+	 *            the angle in degrees for the rotation around the x axis
+	 * @param angleY
+	 *            the angle in degrees for the rotation around the y axis
+	 * @param angleZ
+	 *            the angle in degrees for the rotation around the z axis
+	 * @return this matrix
+	 */
+	public Matrix4f setRotationXYZ(float angleX, float angleY, float angleZ) {
+		double x = angleX * (Math.PI / 180.0);
+		double y = angleY * (Math.PI / 180.0);
+		double z = angleZ * (Math.PI / 180.0);
+		float cx = (float) Math.cos(x), sx = (float) Math.sin(x);
+		float cy = (float) Math.cos(y), sy = (float) Math.sin(y);
+		float cz = (float) Math.cos(z), sz = (float) Math.sin(z);
+
+		data[0] = cy * cz;
+		data[1] = sx * sy * cz - cx * sz;
+		data[2] = cx * sy * cz + sx * sz;
+		data[3] = 0;
+		data[4] = cy * sz;
+		data[5] = sx * sy * sz + cx * cz;
+		data[6] = cx * sy * sz - sx * cz;
+		data[7] = 0;
+		data[8] = -sy;
+		data[9] = sx * cy;
+		data[10] = cx * cy;
+		data[11] = 0;
+		data[12] = 0;
+		data[13] = 0;
+		data[14] = 0;
+		data[15] = 1;
+		return this;
+	}
+
+	/**
+	 * Sets this matrix to a translation matrix.
+	 *
+	 * @param translateX
+	 *            the amount to translate parallel to the x axis
+	 * @param translateY
+	 *            the amount to translate parallel to the y axis
+	 * @param translateZ
+	 *            the amount to translate parallel to the z axis
+	 * @return this matrix
+	 */
+	public Matrix4f setTranslation(float translateX, float translateY,
+			float translateZ) {
+		setIdentity();
+		data[12] = translateX;
+		data[13] = translateY;
+		data[14] = translateZ;
+		return this;
+	}
+
+}
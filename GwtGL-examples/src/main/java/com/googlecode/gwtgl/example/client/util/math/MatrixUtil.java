@@ -63,6 +63,29 @@ public final class MatrixUtil {
 				new float[] { 0, 0, -1, 0 } });
 	};
 
+	/**
+	 * Sets the given matrix to the perspective matrix described by the
+	 * parameters without allocating a new matrix.
+	 * 
+	 * @param fieldOfViewVertical
+	 *            Vertikaler Öffnungswinkel in Grad
+	 * @param aspectRatio
+	 *            Verhältnis von Höhe zu Breite
+	 * @param minimumClearance
+	 *            Mindestabstand sichtbarer Punkte
+	 * @param maximumClearance
+	 *            Höchstabstand sichtbarer Punkte
+	 * @param result
+	 *            the matrix to store the result in
+	 * @return the given result matrix
+	 */
+	public static Matrix4f createPerspectiveMatrix(int fieldOfViewVertical,
+			float aspectRatio, float minimumClearance, float maximumClearance,
+			Matrix4f result) {
+		return result.setPerspective(fieldOfViewVertical, aspectRatio,
+				minimumClearance, maximumClearance);
+	}
+
 	/**
 	 * Creates a rotation matrix.
 	 * 
@@ -81,6 +104,25 @@ public final class MatrixUtil {
 				createRotationMatrixZ(angleZ));
 	}
 
+	/**
+	 * Sets the given matrix to the rotation matrix described by the
+	 * parameters without allocating a new matrix.
+	 * 
+	 * @param angleX
+	 *            the angle in degrees for the rotation around the x axis
+	 * @param angleY
+	 *            the angle in degrees for the rotation around the y axis
+	 * @param angleZ
+	 *            the angle in degrees for the rotation around the z axis
+	 * @param result
+	 *            the matrix to store the result in
+	 * @return the given result matrix
+	 */
+	public static Matrix4f createRotationMatrix(int angleX, int angleY,
+			int angleZ, Matrix4f result) {
+		return result.setRotationXYZ(angleX, angleY, angleZ);
+	}
+
 	private static FloatMatrix4x4 createRotationMatrixX(int angle) {
 		double angleInRad = angle * (Math.PI / 180.0);
 
@@ -159,4 +201,23 @@ public final class MatrixUtil {
 						new float[] { 0, 0, 1, translateZ },
 						new float[] { 0, 0, 0, 1 } });
 	}
+
+	/**
+	 * Sets the given matrix to the translation matrix described by the
+	 * parameters without allocating a new matrix.
+	 * 
+	 * @param translateX
+	 *            the amount to translate parallel to the x axis
+	 * @param translateY
+	 *            the amount to translate parallel to the y axis
+	 * @param translateZ
+	 *            the amount to translate parallel to the z axis
+	 * @param result
+	 *            the matrix to store the result in
+	 * @return the given result matrix
+	 */
+	public static Matrix4f createTranslationMatrix(float translateX,
+			float translateY, float translateZ, Matrix4f result) {
+		return result.setTranslation(translateX, translateY, translateZ);
+	}
 }
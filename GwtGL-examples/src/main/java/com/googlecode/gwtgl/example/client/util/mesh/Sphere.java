@@ -16,10 +16,8 @@
 
 package com.googlecode.gwtgl.example.client.util.mesh;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.googlecode.gwtgl.example.client.util.ConversionUtils.*;
+import com.google.gwt.typedarrays.client.FloatList;
+import com.google.gwt.typedarrays.client.IntList;
 
 /**
  * Helper class for creation of sphere mesh Inspired by "The WebGL Cookbook"
@@ -37,9 +35,10 @@ public class Sphere extends IndexedMesh {
 	 * @param radius
 	 */
 	public Sphere(int latitudeBands, int longitudeBands, int radius) {
-		List<Float> vertexNormalsList = new ArrayList<Float>();
-		List<Float> texCoordsList = new ArrayList<Float>();
-		List<Float> verticesList = new ArrayList<Float>();
+		int vertexCount = (latitudeBands + 1) * (longitudeBands + 1);
+		FloatList vertexNormalsList = new FloatList(vertexCount * 3);
+		FloatList texCoordsList = new FloatList(vertexCount * 2);
+		FloatList verticesList = new FloatList(vertexCount * 3);
 
 		for (int latNumber = 0; latNumber <= latitudeBands; latNumber++) {
 			double theta = latNumber * Math.PI / latitudeBands;
@@ -57,36 +56,27 @@ public class Sphere extends IndexedMesh {
 				double u = 1 - (longNumber / longitudeBands);
 				double v = latNumber / latitudeBands;
 
-				vertexNormalsList.add((float) x);
-				vertexNormalsList.add((float) y);
-				vertexNormalsList.add((float) z);
-				texCoordsList.add((float) u);
-				texCoordsList.add((float) v);
-				verticesList.add((float) (radius * x));
-				verticesList.add((float) (radius * y));
-				verticesList.add((float) (radius * z));
+				vertexNormalsList.add((float) x, (float) y, (float) z);
+				texCoordsList.add((float) u, (float) v);
+				verticesList.add((float) (radius * x), (float) (radius * y),
+						(float) (radius * z));
 			}
 		}
 
-		List<Integer> indicesList = new ArrayList<Integer>();
+		IntList indicesList = new IntList(latitudeBands * longitudeBands * 6);
 		for (int latNumber = 0; latNumber < latitudeBands; latNumber++) {
 			for (int longNumber = 0; longNumber < longitudeBands; longNumber++) {
 				int first = ((latNumber * (longitudeBands + 1)) + longNumber);
 				int second = (first + longitudeBands + 1);
-				indicesList.add(first);
-				indicesList.add(second);
-				indicesList.add((first + 1));
-
-				indicesList.add(second);
-				indicesList.add( second + 1);
-				indicesList.add(first + 1);
+				indicesList.add(first, second, first + 1);
+				indicesList.add(second, second + 1, first + 1);
 			}
 		}
 		
-		verticesArray = floatListToFloatArray(verticesList);
-		texCoordsArray = floatListToFloatArray(texCoordsList);
-		vertexNormalsArray = floatListToFloatArray(vertexNormalsList);
-		indices = integerListToIntegerArray(indicesList);
+		verticesArray = verticesList.toArray();
+		texCoordsArray = texCoordsList.toArray();
+		vertexNormalsArray = vertexNormalsList.toArray();
+		indices = indicesList.toArray();
 	}
 
 	/**
@@ -26,21 +26,20 @@ import com.google.gwt.user.client.ui.VerticalPanel;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 import com.googlecode.gwtgl.example.client.AbstractGwtGLWrapperExample;
 import com.googlecode.gwtgl.example.client.util.MatrixWidget;
-import com.googlecode.gwtgl.example.client.util.math.FloatMatrix4x4;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 import com.googlecode.gwtgl.example.client.util.math.MatrixUtil;
 import com.googlecode.gwtgl.example.client.util.math.Vectorf;
 import com.googlecode.gwtgl.example.client.util.math.Vector3f;
 import com.googlecode.gwtgl.example.client.util.mesh.CubeFactory;
 import com.googlecode.gwtgl.example.client.util.mesh.Mesh;
 import com.googlecode.gwtgl.wrapper.Buffer;
-import com.googlecode.gwtgl.wrapper.FloatArray;
 import com.googlecode.gwtgl.wrapper.Shader;
 import com.googlecode.gwtgl.wrapper.ShaderProgram;
 import com.googlecode.gwtgl.wrapper.Texture2D;
+import com.googlecode.gwtgl.wrapper.VertexLayout;
 import com.googlecode.gwtgl.wrapper.enums.BufferTarget;
 import com.googlecode.gwtgl.wrapper.enums.BufferUsage;
 import com.googlecode.gwtgl.wrapper.enums.ClearFlag;
-import com.googlecode.gwtgl.wrapper.enums.DataType;
 import com.googlecode.gwtgl.wrapper.enums.DepthComparisonFunction;
 import com.googlecode.gwtgl.wrapper.enums.GLCapability;
 import com.googlecode.gwtgl.wrapper.enums.GLError;
@@ -60,9 +59,7 @@ import com.googlecode.gwtgl.wrapper.enums.TextureTarget;
  */
 public class LightingWrapperExample extends AbstractGwtGLWrapperExample {
 
-	private static final String VERTICES = "vertices";
-	private static final String TEX_COORDS = "tex_coords";
-	private static final String NORMALS = "normals";
+	private static final String VERTEX_DATA = "vertex_data";
 
 	private Mesh cube = CubeFactory.createNewInstance(1.0f);
 	private MatrixWidget perspectiveMatrixWidget;
@@ -79,10 +76,11 @@ public class LightingWrapperExample extends AbstractGwtGLWrapperExample {
 	private int angleY = 0;
 	private int angleZ = 0;
 	private float translateZ = -2;
-	private FloatMatrix4x4 perspectiveMatrix;
-	private FloatMatrix4x4 translationMatrix;
-	private FloatMatrix4x4 rotationMatrix;
-	private FloatMatrix4x4 resultingMatrix;
+	private final Matrix4f perspectiveMatrix = new Matrix4f();
+	private final Matrix4f translationMatrix = new Matrix4f();
+	private final Matrix4f rotationMatrix = new Matrix4f();
+	private final Matrix4f resultingMatrix = new Matrix4f();
+	private final Matrix4f normalMatrix = new Matrix4f();
 	private Vectorf lightingDirection = new Vector3f(0, -1, -1);
 	private float directionalColorRed = 1.0f;
 	private float directionalColorGreen = 0.1f;
@@ -236,9 +234,9 @@ public class LightingWrapperExample extends AbstractGwtGLWrapperExample {
 	private void initBuffers() {
 		buffer = new Buffer(webGLWrapper, BufferTarget.ARRAY_BUFFER,
 				BufferUsage.STATIC_DRAW);
-		buffer.addData(VERTICES, new FloatArray(cube.getVertices()));
-		buffer.addData(TEX_COORDS, new FloatArray(cube.getTexCoords()));
-		buffer.addData(NORMALS, new FloatArray(cube.getVertexNormals()));
+		VertexLayout layout = Mesh.createVertexLayout("vertexPosition",
+				"texPosition", "vertexNormal");
+		buffer.addData(VERTEX_DATA, layout, cube.toInterleavedArray(layout));
 
 		checkErrors();
 	}
@@ -260,31 +258,20 @@ public class LightingWrapperExample extends AbstractGwtGLWrapperExample {
 		checkErrors();
 
 		// activate buffers
-		buffer.bind();
-		webGLWrapper.enableVertexAttribArray(0);
-		webGLWrapper.vertexAttribPointer(0, 3, DataType.FLOAT, false, 0, buffer
-				.getOffset(VERTICES));
-
-		webGLWrapper.enableVertexAttribArray(1);
-		webGLWrapper.vertexAttribPointer(1, 2, DataType.FLOAT, false, 0, buffer
-				.getOffset(TEX_COORDS));
-
-		webGLWrapper.enableVertexAttribArray(2);
-		webGLWrapper.vertexAttribPointer(2, 3, DataType.FLOAT, false, 0, buffer
-				.getOffset(NORMALS));
+		buffer.bindAttributes(shaderProgram);
 
 		// set up projection matrix
 		WebGLUniformLocation mvUniform = shaderProgram.getUniformLocation("projectionMatrix");
-		perspectiveMatrix = MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f,
-				100);
-		translationMatrix = MatrixUtil
-				.createTranslationMatrix(0, 0, translateZ);
-		rotationMatrix = MatrixUtil
-				.createRotationMatrix(angleX, angleY, angleZ);
-		resultingMatrix = perspectiveMatrix.multiply(translationMatrix)
-				.multiply(rotationMatrix);
+		MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100,
+				perspectiveMatrix);
+		MatrixUtil.createTranslationMatrix(0, 0, translateZ,
+				translationMatrix);
+		MatrixUtil.createRotationMatrix(angleX, angleY, angleZ,
+				rotationMatrix);
+		resultingMatrix.mulLocal(perspectiveMatrix, translationMatrix)
+				.mulLocal(rotationMatrix);
 		webGLWrapper.uniformMatrix4fv(mvUniform, false, resultingMatrix
-				.getColumnWiseFlatData());
+				.getData());
 		checkErrors();
 
 		// Texturing
@@ -309,11 +296,10 @@ public class LightingWrapperExample extends AbstractGwtGLWrapperExample {
 				.getUniformLocation("directionalColor"), directionalColorRed,
 				directionalColorGreen, directionalColorBlue);
 
-		FloatMatrix4x4 normalMatrix = rotationMatrix.inverse();
-		normalMatrix = normalMatrix.transpose();
+		normalMatrix.set(rotationMatrix).invertLocal().transposeLocal();
 		webGLWrapper.uniformMatrix4fv(shaderProgram
 				.getUniformLocation("normalMatrix"), false, normalMatrix
-				.getColumnWiseFlatData());
+				.getData());
 
 		checkErrors();
 		webGLWrapper.drawArrays(PrimitiveRenderingMode.TRIANGLES, 0, 36);
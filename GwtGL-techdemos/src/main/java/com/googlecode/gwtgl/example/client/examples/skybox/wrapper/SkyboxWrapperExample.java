@@ -23,7 +23,7 @@ import com.google.gwt.user.client.ui.VerticalPanel;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 import com.googlecode.gwtgl.example.client.AbstractGwtGLWrapperExample;
 import com.googlecode.gwtgl.example.client.util.MatrixWidget;
-import com.googlecode.gwtgl.example.client.util.math.FloatMatrix;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 import com.googlecode.gwtgl.example.client.util.math.MatrixUtil;
 import com.googlecode.gwtgl.example.client.util.mesh.CubeFactory;
 import com.googlecode.gwtgl.example.client.util.mesh.Mesh;
@@ -73,10 +73,10 @@ public class SkyboxWrapperExample extends AbstractGwtGLWrapperExample {
 	private Buffer buffer;
 
 	private float translateZ = 0;
-	private FloatMatrix perspectiveMatrix;
-	private FloatMatrix translationMatrix;
-	private FloatMatrix rotationMatrix;
-	private FloatMatrix resultingMatrix;
+	private final Matrix4f perspectiveMatrix = new Matrix4f();
+	private final Matrix4f translationMatrix = new Matrix4f();
+	private final Matrix4f rotationMatrix = new Matrix4f();
+	private final Matrix4f resultingMatrix = new Matrix4f();
 	private Camera camera = new Camera();
 
 	/**
@@ -240,12 +240,12 @@ public class SkyboxWrapperExample extends AbstractGwtGLWrapperExample {
 				.getOffset(TEX_COORDS));
 		WebGLUniformLocation mvUniform = shaderProgram.getUniformLocation("projectionMatrix");
 
-		perspectiveMatrix = MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100);
-		translationMatrix = MatrixUtil.createTranslationMatrix(0, 0, translateZ);
-		rotationMatrix = MatrixUtil.createRotationMatrix(camera.getRotationXAxis(), camera.getRotationYAxis(), 0);
-		resultingMatrix = perspectiveMatrix.multiply(translationMatrix).multiply(rotationMatrix);
+		MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100, perspectiveMatrix);
+		MatrixUtil.createTranslationMatrix(0, 0, translateZ, translationMatrix);
+		MatrixUtil.createRotationMatrix(camera.getRotationXAxis(), camera.getRotationYAxis(), 0, rotationMatrix);
+		resultingMatrix.mulLocal(perspectiveMatrix, translationMatrix).mulLocal(rotationMatrix);
 
-		webGLWrapper.uniformMatrix4fv(mvUniform, false, resultingMatrix.getColumnWiseFlatData());
+		webGLWrapper.uniformMatrix4fv(mvUniform, false, resultingMatrix.getData());
 		webGLWrapper.uniform1i(textureUniform, 0);
 				
 		textureBack.setActiveAndBind(0);
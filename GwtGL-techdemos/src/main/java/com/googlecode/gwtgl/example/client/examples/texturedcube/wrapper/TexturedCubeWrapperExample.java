@@ -26,7 +26,7 @@ import com.google.gwt.user.client.ui.VerticalPanel;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 import com.googlecode.gwtgl.example.client.AbstractGwtGLWrapperExample;
 import com.googlecode.gwtgl.example.client.util.MatrixWidget;
-import com.googlecode.gwtgl.example.client.util.math.FloatMatrix;
+import com.googlecode.gwtgl.example.client.util.math.Matrix4f;
 import com.googlecode.gwtgl.example.client.util.math.MatrixUtil;
 import com.googlecode.gwtgl.example.client.util.mesh.CubeFactory;
 import com.googlecode.gwtgl.example.client.util.mesh.Mesh;
@@ -74,10 +74,10 @@ public class TexturedCubeWrapperExample extends AbstractGwtGLWrapperExample {
 	private int angleY = 0;
 	private int angleZ = 0;
 	private float translateZ = -2;
-	private FloatMatrix perspectiveMatrix;
-	private FloatMatrix translationMatrix;
-	private FloatMatrix rotationMatrix;
-	private FloatMatrix resultingMatrix;
+	private final Matrix4f perspectiveMatrix = new Matrix4f();
+	private final Matrix4f translationMatrix = new Matrix4f();
+	private final Matrix4f rotationMatrix = new Matrix4f();
+	private final Matrix4f resultingMatrix = new Matrix4f();
 
 	/**
 	 * Constructs an instance of the TexturedCubeWrapperExample.
@@ -255,17 +255,17 @@ public class TexturedCubeWrapperExample extends AbstractGwtGLWrapperExample {
 				.getOffset(TEX_COORDS));
 		WebGLUniformLocation mvUniform = shaderProgram.getUniformLocation("projectionMatrix");
 
-		perspectiveMatrix = MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f,
-				100);
-		translationMatrix = MatrixUtil
-				.createTranslationMatrix(0, 0, translateZ);
-		rotationMatrix = MatrixUtil
-				.createRotationMatrix(angleX, angleY, angleZ);
-		resultingMatrix = perspectiveMatrix.multiply(translationMatrix)
-				.multiply(rotationMatrix);
+		MatrixUtil.createPerspectiveMatrix(45, 1.0f, 0.1f, 100,
+				perspectiveMatrix);
+		MatrixUtil.createTranslationMatrix(0, 0, translateZ,
+				translationMatrix);
+		MatrixUtil.createRotationMatrix(angleX, angleY, angleZ,
+				rotationMatrix);
+		resultingMatrix.mulLocal(perspectiveMatrix, translationMatrix)
+				.mulLocal(rotationMatrix);
 
 		webGLWrapper.uniformMatrix4fv(mvUniform, false, resultingMatrix
-				.getColumnWiseFlatData());
+				.getData());
 		checkErrors();
 		// Bind the texture to texture unit 0
 		texture.setActiveAndBind(0);
@@ -1,11 +1,10 @@
 package com.googlecode.gwtgl.example.client.util.mesh;
 
-import static com.googlecode.gwtgl.example.client.util.ConversionUtils.floatListToFloatArray;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.google.gwt.typedarrays.client.FloatList;
 import com.googlecode.gwtgl.example.client.util.math.Vector2f;
 import com.googlecode.gwtgl.example.client.util.math.Vector3f;
 
@@ -110,27 +109,24 @@ public class CubeFactory {
 				// bottomleft
 				vec(-halfscale, -halfscale, halfscale));
 
-		List<Float> vertices = new ArrayList<Float>(108);
-		vertices.addAll(flattenVector3fList(front));
-		vertices.addAll(flattenVector3fList(back));
-		vertices.addAll(flattenVector3fList(left));
-		vertices.addAll(flattenVector3fList(right));
-		vertices.addAll(flattenVector3fList(top));
-		vertices.addAll(flattenVector3fList(bottom));
-		return floatListToFloatArray(vertices);
+		FloatList vertices = new FloatList(108);
+		addVector3fList(vertices, front);
+		addVector3fList(vertices, back);
+		addVector3fList(vertices, left);
+		addVector3fList(vertices, right);
+		addVector3fList(vertices, top);
+		addVector3fList(vertices, bottom);
+		return vertices.toArray();
 	}
 
 	private static float[] createTexCoordsArray() {
 		List<Vector2f> side = createPlaneTexCoords();
 
-		List<Float> texCoords = new ArrayList<Float>(72);
-		texCoords.addAll(flattenVector2fList(side));
-		texCoords.addAll(flattenVector2fList(side));
-		texCoords.addAll(flattenVector2fList(side));
-		texCoords.addAll(flattenVector2fList(side));
-		texCoords.addAll(flattenVector2fList(side));
-		texCoords.addAll(flattenVector2fList(side));
-		return floatListToFloatArray(texCoords);
+		FloatList texCoords = new FloatList(72);
+		for (int i = 0; i < 6; i++) {
+			addVector2fList(texCoords, side);
+		}
+		return texCoords.toArray();
 	}
 
 	private static float[] createVertexNormalsArray() {
@@ -179,8 +175,9 @@ public class CubeFactory {
 		normals.add(bottom);
 		normals.add(bottom);
 
-		List<Float> vertexNormals = flattenVector3fList(normals);
-		return floatListToFloatArray(vertexNormals);
+		FloatList vertexNormals = new FloatList(normals.size() * 3);
+		addVector3fList(vertexNormals, normals);
+		return vertexNormals.toArray();
 	}
 
 	private static Vector3f vec(float x, float y, float z) {
@@ -191,19 +188,15 @@ public class CubeFactory {
 		return new Vector2f(u, v);
 	}
 
-	private static List<Float> flattenVector3fList(List<Vector3f> inList) {
-		List<Float> outList = new ArrayList<Float>(inList.size() * 3);
+	private static void addVector3fList(FloatList outList, List<Vector3f> inList) {
 		for (Vector3f v : inList) {
-			outList.addAll(Arrays.asList(v.getX(), v.getY(), v.getZ()));
+			outList.add(v.getX(), v.getY(), v.getZ());
 		}
-		return outList;
 	}
 
-	private static List<Float> flattenVector2fList(List<Vector2f> inList) {
-		List<Float> outList = new ArrayList<Float>(inList.size() * 2);
+	private static void addVector2fList(FloatList outList, List<Vector2f> inList) {
 		for (Vector2f v : inList) {
-			outList.addAll(Arrays.asList(v.getU(), v.getV()));
+			outList.add(v.getU(), v.getV());
 		}
-		return outList;
 	}
 }
@@ -1,5 +1,8 @@
 package com.googlecode.gwtgl.example.client.util.mesh;
 
+import com.googlecode.gwtgl.wrapper.UnsignedByteArray;
+import com.googlecode.gwtgl.wrapper.VertexLayout;
+
 /**
  * Class that holds a mesh's data 
  * @author Sönke Sothmann
@@ -63,6 +66,38 @@ public class Mesh {
 		return vertexNormalsArray;
 	}
 	
+	/**
+	 * Creates a VertexLayout with 3 float components for the vertices, 2 for the tex coords and
+	 * 3 for the vertex normals, using the given attribute names.
+	 * @param verticesName name of the vertex position attribute
+	 * @param texCoordsName name of the tex coords attribute
+	 * @param vertexNormalsName name of the vertex normals attribute
+	 * @return the created VertexLayout
+	 */
+	public static VertexLayout createVertexLayout(String verticesName, String texCoordsName, String vertexNormalsName) {
+		return new VertexLayout().add(verticesName, 3).add(texCoordsName, 2).add(vertexNormalsName, 3);
+	}
+	
+	/**
+	 * Packs the vertices, tex coords and vertex normals of this Mesh into one interleaved array in a single pass.
+	 * The first attribute of the layout is filled with the vertices, the second with the tex coords and the third with the vertex normals.
+	 * A layout with less attributes only gets the first arrays.
+	 * @param layout the layout of the interleaved data, e.g. created by {@link #createVertexLayout(String, String, String)}
+	 * @return the interleaved data
+	 */
+	public UnsignedByteArray toInterleavedArray(VertexLayout layout) {
+		float[][] allData = new float[][] { verticesArray, texCoordsArray, vertexNormalsArray };
+		int numAttributes = layout.getAttributes().size();
+		if (numAttributes > allData.length) {
+			throw new IllegalArgumentException("A Mesh provides data for at most " + allData.length + " attributes");
+		}
+		float[][] data = new float[numAttributes][];
+		for (int i = 0; i < numAttributes; i++) {
+			data[i] = allData[i];
+		}
+		return layout.interleave(verticesArray.length / 3, data);
+	}
+	
 	/**
 	 * Adds a Mesh to this Mesh, resulting in a Mesh consisting of all the data of the two Meshes
 	 * @param other Mesh to add
@@ -155,6 +155,97 @@ public abstract class Array<T extends TypedArray<T>, S extends Number> implement
 			getNativeArray().set(array, offset);
 		};
 		
+		/**
+		 * Passes all values of the array to the given consumer in ascending order. In contrast to {@link #iterator()} the values aren't boxed.
+		 * 
+		 * @param consumer
+		 */
+		public void forEach(IntConsumer consumer) {
+			int length = getLength();
+			for (int i = 0; i < length; i++) {
+				consumer.accept(get(i));
+			}
+		}
+		
+		/**
+		 * Combines all values of the array in ascending order using the given reducer.
+		 * 
+		 * @param initialValue the value passed to the first call of the reducer
+		 * @param reducer
+		 * @return the result of the last call of the reducer or the initial value if the array is empty
+		 */
+		public int reduce(int initialValue, IntReducer reducer) {
+			int result = initialValue;
+			int length = getLength();
+			for (int i = 0; i < length; i++) {
+				result = reducer.reduce(result, get(i));
+			}
+			return result;
+		}
+		
+		/**
+		 * Copies all values of the array into the given Java array.
+		 * 
+		 * If the offset plus the length of this array is out of range for the destination array, an exception is raised.
+		 * 
+		 * @param dst the array to copy the values into
+		 * @param offset the index in the destination array where the first value is written
+		 */
+		public void copyTo(int[] dst, int offset) {
+			int length = getLength();
+			if (offset < 0 || offset + length > dst.length) {
+				throw new IndexOutOfBoundsException("Copying " + length + " values to offset " + offset + " exceeds the destination length " + dst.length);
+			}
+			for (int i = 0; i < length; i++) {
+				dst[offset + i] = get(i);
+			}
+		}
+		
+		/**
+		 * Returns the values of the array as a Java array.
+		 * 
+		 * @return a new Java array containing the values
+		 */
+		public int[] toArray() {
+			int[] result = new int[getLength()];
+			copyTo(result, 0);
+			return result;
+		}
+		
+		/**
+		 * Returns the smallest value of the array.
+		 * 
+		 * @return the smallest value or Integer.MAX_VALUE if the array is empty
+		 */
+		public int min() {
+			int result = Integer.MAX_VALUE;
+			int length = getLength();
+			for (int i = 0; i < length; i++) {
+				int value = get(i);
+				if (value < result) {
+					result = value;
+				}
+			}
+			return result;
+		}
+		
+		/**
+		 * Returns the largest value of the array.
+		 * 
+		 * @return the largest value or Integer.MIN_VALUE if the array is empty
+		 */
+		public int max() {
+			int result = Integer.MIN_VALUE;
+			int length = getLength();
+			for (int i = 0; i < length; i++) {
+				int value = get(i);
+				if (value > result) {
+					result = value;
+				}
+			}
+			return result;
+		}
+		
 		@Override
 		public Iterator<Integer> iterator() {
 			return new Iterator<Integer>() {
@@ -39,6 +39,23 @@ import com.googlecode.gwtgl.wrapper.enums.DataType;
  *
  */
 public class Buffer {
+
+	/**
+	 * Listener that is notified when the underlying buffer object was
+	 * reallocated because a fragment outgrew its capacity. As the offsets of
+	 * the fragments may have changed, attribute pointers have to be set
+	 * again.
+	 */
+	public interface ReallocationListener {
+		/**
+		 * Called after the buffer was reallocated and all data was uploaded
+		 * again. The buffer is bound when this method is called.
+		 * 
+		 * @param buffer
+		 *            the reallocated buffer
+		 */
+		void onReallocation(Buffer buffer);
+	}
 	
 	/**
 	 * A BufferFragment represents one set of datas inside a buffer object.
@@ -46,11 +63,16 @@ public class Buffer {
 	@SuppressWarnings("unused")
 	private class BufferFragment {
 		private Array<?, ?> dataToSet;
+		private Array<?, ?> data;
 		private int offset;
 		private int byteLength;
 		private int maxLength;
 		private int numElements;
 		private DataType dataType;
+		private VertexLayout layout;
+		private boolean fullyDirty;
+		// sorted, disjoint and non adjacent element ranges as {start, end}
+		private final List<int[]> dirtyRanges = new ArrayList<int[]>();
 		
 		/**
 		 * @return the offset
@@ -92,13 +114,12 @@ public class Buffer {
 		}
 		
 		private void setData(Array<?, ?> dataToSet, boolean initial) {
-			if (fixed && maxLength < dataToSet.getByteLength()) {
-				throw new IllegalStateException(
-						"The fragement's size is too small for the data to set!");
-			}
 			unsetData = true;
 
 			this.dataToSet = dataToSet;
+			this.data = dataToSet;
+			fullyDirty = true;
+			dirtyRanges.clear();
 			if(initial) {
 				maxLength = byteLength;
 				if (fragments.isEmpty()) {
@@ -106,17 +127,88 @@ public class Buffer {
 				} else {
 					// get the last fragment to calculate the offset of the new one
 					BufferFragment lastFragment = fragments.get(fragments.size() - 1);
-					offset = lastFragment.offset + lastFragment.byteLength;
+					offset = lastFragment.offset + lastFragment.maxLength;
 				}
 			}
 			byteLength = dataToSet.getByteLength();
 			dataType=dataToSet.getDataType();
 			numElements=dataToSet.getLength();
-			if(maxLength < dataToSet.getByteLength()) {
-				maxLength=dataToSet.getByteLength();
+			if(maxLength < byteLength) {
+				if (fixed) {
+					// grow geometrically to avoid a reallocation on every change
+					int grownLength = (int) (maxLength * growthFactor);
+					maxLength = align(Math.max(byteLength, grownLength), 4);
+					reallocate = true;
+				} else {
+					maxLength = byteLength;
+				}
 				recalcOffsets();
 			}
 		}
+
+		private void setData(Array<?, ?> dataToSet, int firstElement, int count) {
+			if (dataToSet.getLength() != numElements
+					|| dataToSet.getDataType() != dataType) {
+				throw new IllegalStateException(
+						"The array has to match the fragment's type and number of elements!");
+			}
+			if (firstElement < 0 || count < 0 || firstElement + count > numElements) {
+				throw new IndexOutOfBoundsException("Range [" + firstElement + ", "
+						+ (firstElement + count) + ") is out of the fragment's bounds!");
+			}
+			if (count == 0) {
+				return;
+			}
+			unsetData = true;
+			this.dataToSet = dataToSet;
+			this.data = dataToSet;
+			if (!fullyDirty) {
+				addDirtyRange(firstElement, firstElement + count);
+			}
+		}
+
+		private void addDirtyRange(int start, int end) {
+			int i = 0;
+			// skip the ranges that end before the new one starts
+			while (i < dirtyRanges.size() && dirtyRanges.get(i)[1] < start) {
+				i++;
+			}
+			// merge all ranges that overlap or touch the new one
+			while (i < dirtyRanges.size() && dirtyRanges.get(i)[0] <= end) {
+				int[] range = dirtyRanges.remove(i);
+				start = Math.min(start, range[0]);
+				end = Math.max(end, range[1]);
+			}
+			dirtyRanges.add(i, new int[] { start, end });
+		}
+
+		private void upload() {
+			if (fullyDirty) {
+				uploadRange(0, numElements);
+			} else {
+				for (int[] range : dirtyRanges) {
+					uploadRange(range[0], range[1]);
+				}
+			}
+			dataToSet = null;
+			fullyDirty = false;
+			dirtyRanges.clear();
+		}
+
+		private void uploadRange(int start, int end) {
+			if (start == end) {
+				return;
+			}
+			int bytesPerElement = byteLength / numElements;
+			if (start == 0 && end == numElements) {
+				glContext.bufferSubData(target.getIntValue(), offset,
+						dataToSet.getNativeArray());
+			} else {
+				glContext.bufferSubData(target.getIntValue(), offset + start
+						* bytesPerElement, dataToSet.getNativeArray().subarray(start, end));
+			}
+			uploadedByteCount += (end - start) * bytesPerElement;
+		}
 	}
 
 	private List<BufferFragment> fragments = new ArrayList<BufferFragment>();
@@ -124,8 +216,12 @@ public class Buffer {
 
 	private boolean fixed = false;
 	private boolean unsetData = false;
+	private boolean reallocate = false;
+	private float growthFactor = 1.5f;
+	private long uploadedByteCount = 0;
+	private final List<ReallocationListener> reallocationListeners = new ArrayList<ReallocationListener>();
 
-	private final WebGLBuffer nativeBufferObject;
+	final WebGLBuffer nativeBufferObject;
 	private final WebGLRenderingContext glContext;
 	private final WebGLWrapper webGLWrapper;
 	private final BufferTarget target;
@@ -169,7 +265,66 @@ public class Buffer {
 	}
 
 	/**
-	 * Sets new values for the named data array.
+	 * Adds a new managed array of interleaved vertex data to the Buffer. The
+	 * attribute pointers for the data are set by
+	 * {@link #bindAttributes(ShaderProgram)}.
+	 * 
+	 * @param name
+	 * @param layout
+	 *            the layout of the interleaved data
+	 * @param dataToSet
+	 *            the interleaved data, e.g. created by
+	 *            {@link VertexLayout#interleave(int, float[]...)}
+	 */
+	public void addData(String name, VertexLayout layout, Array<?, ?> dataToSet) {
+		addData(name, dataToSet);
+		namedFragments.get(name).layout = layout;
+	}
+
+	/**
+	 * Adds a new managed index array to the Buffer. The indices are stored
+	 * using the smallest unsigned type that is able to hold the largest index.
+	 * 
+	 * @param name
+	 * @param indices
+	 */
+	public void addIndexData(String name, int[] indices) {
+		addData(name, createIndexArray(indices));
+	}
+
+	/**
+	 * Creates an index array of the smallest unsigned type that is able to
+	 * hold all of the given indices.
+	 * 
+	 * @param indices
+	 * @return an {@link UnsignedByteArray}, {@link UnsignedShortArray} or
+	 *         {@link UnsignedIntArray} containing the given indices
+	 */
+	public static Array<?, ?> createIndexArray(int[] indices) {
+		int maxIndex = 0;
+		for (int index : indices) {
+			if (index < 0) {
+				throw new IllegalArgumentException("Negative index " + index
+						+ " is not allowed!");
+			}
+			if (index > maxIndex) {
+				maxIndex = index;
+			}
+		}
+		if (maxIndex <= 0xFF) {
+			return new UnsignedByteArray(indices);
+		}
+		if (maxIndex <= 0xFFFF) {
+			return new UnsignedShortArray(indices);
+		}
+		return new UnsignedIntArray(indices);
+	}
+
+	/**
+	 * Sets new values for the named data array. If the buffer object is
+	 * already initialized and the new data is larger than the capacity of the
+	 * fragment, the capacity is grown by the growth factor and the buffer
+	 * object is reallocated on the next {@link #bind()}.
 	 * 
 	 * @param name
 	 * @param dataToSet
@@ -183,6 +338,102 @@ public class Buffer {
 		fragment.setData(dataToSet);
 	}
 
+	/**
+	 * Sets new values for a range of elements of the named data array. The
+	 * given array has to contain the values of the whole fragment, but only
+	 * the given range is uploaded to the buffer object. Ranges that are set
+	 * before the next {@link #bind()} are merged if they overlap or touch.
+	 * 
+	 * @param name
+	 * @param dataToSet
+	 *            the array containing all values of the fragment
+	 * @param firstElement
+	 *            the index of the first changed element
+	 * @param count
+	 *            the number of changed elements
+	 */
+	public void setData(String name, Array<?, ?> dataToSet, int firstElement,
+			int count) {
+		BufferFragment fragment = namedFragments.get(name);
+		if (fragment == null) {
+			throw new IllegalStateException("Fragment with name " + name
+					+ " not found!");
+		}
+		fragment.setData(dataToSet, firstElement, count);
+	}
+
+	/**
+	 * Returns the number of bytes uploaded to the buffer object by
+	 * bufferSubData since creation or the last call of
+	 * {@link #resetUploadedByteCount()}.
+	 * 
+	 * @return the number of uploaded bytes
+	 */
+	public long getUploadedByteCount() {
+		return uploadedByteCount;
+	}
+
+	/**
+	 * Resets the counter returned by {@link #getUploadedByteCount()}.
+	 */
+	public void resetUploadedByteCount() {
+		uploadedByteCount = 0;
+	}
+
+	/**
+	 * Returns the factor a fragment's capacity is multiplied with when it has
+	 * to grow after the buffer object was initialized.
+	 * 
+	 * @return the growth factor
+	 */
+	public float getGrowthFactor() {
+		return growthFactor;
+	}
+
+	/**
+	 * Sets the factor a fragment's capacity is multiplied with when it has to
+	 * grow after the buffer object was initialized. The default is 1.5.
+	 * 
+	 * @param growthFactor
+	 *            the growth factor, has to be at least 1
+	 */
+	public void setGrowthFactor(float growthFactor) {
+		if (growthFactor < 1) {
+			throw new IllegalArgumentException(
+					"The growth factor must not be less than 1!");
+		}
+		this.growthFactor = growthFactor;
+	}
+
+	/**
+	 * Returns the size of the buffer object in bytes including the unused
+	 * capacity of the fragments.
+	 * 
+	 * @return the capacity of the buffer in bytes
+	 */
+	public int getCapacity() {
+		return getLenght();
+	}
+
+	/**
+	 * Adds a listener that is notified when the buffer object is reallocated.
+	 * 
+	 * @param listener
+	 */
+	public void addReallocationListener(ReallocationListener listener) {
+		reallocationListeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener added by
+	 * {@link #addReallocationListener(ReallocationListener)}.
+	 * 
+	 * @param listener
+	 */
+	public void removeReallocationListener(ReallocationListener listener) {
+		reallocationListeners.remove(listener);
+	}
+
 	private void recalcOffsets() {
 		int offset = 0;
 		for (BufferFragment fragment : fragments) {
@@ -208,11 +459,40 @@ public class Buffer {
 	 * Binds the Buffer to the associated BufferTarget.
 	 */
 	public void bind() {
-		glContext.bindBuffer(target.getIntValue(), nativeBufferObject);
+		webGLWrapper.bindBuffer(this);
 		// initialize the buffer and set the data if necessary
 		setData();
 	}
 
+	/**
+	 * Binds the Buffer and sets the attribute pointers of all arrays that were
+	 * added with a {@link VertexLayout}. Attributes that are not active in the
+	 * given ShaderProgram are skipped.
+	 * 
+	 * @param shaderProgram
+	 *            the program to look up the attribute locations in
+	 */
+	public void bindAttributes(ShaderProgram shaderProgram) {
+		bind();
+		for (BufferFragment fragment : fragments) {
+			VertexLayout layout = fragment.layout;
+			if (layout == null) {
+				continue;
+			}
+			int stride = layout.getStride();
+			for (VertexLayout.Attribute attribute : layout.getAttributes()) {
+				int location = shaderProgram.getAttribLocation(attribute.getName());
+				if (location < 0) {
+					continue;
+				}
+				webGLWrapper.enableVertexAttribArray(location);
+				webGLWrapper.vertexAttribPointer(location, attribute.getSize(),
+						attribute.getDataType(), attribute.isNormalized(), stride,
+						fragment.offset + attribute.getOffset());
+			}
+		}
+	}
+
 	private void setData() {
 		if (!fixed) {
 			// buffer is not initialized
@@ -221,27 +501,46 @@ public class Buffer {
 			glContext.bufferData(target.getIntValue(), getLenght(), usage
 					.getIntValue());
 			fixed = true;
+		} else if (reallocate) {
+			// the old content is lost, so all fragments have to be uploaded again
+			glContext.bufferData(target.getIntValue(), getLenght(), usage
+					.getIntValue());
+			for (BufferFragment fragment : fragments) {
+				if (fragment.data != null) {
+					fragment.setData(fragment.data);
+				}
+			}
 		}
 		if (unsetData) {
 			// some data is not set yet
 			for (BufferFragment fragment : fragments) {
 				if(fragment.dataToSet != null) {
-					glContext.bufferSubData(target.getIntValue(), fragment.offset,
-							fragment.dataToSet.getNativeArray());
-					fragment.dataToSet = null;
+					fragment.upload();
 				}
 			}
 			unsetData = false;
 		}
+		if (reallocate) {
+			reallocate = false;
+			for (ReallocationListener listener : new ArrayList<ReallocationListener>(
+					reallocationListeners)) {
+				listener.onReallocation(this);
+			}
+		}
 	}
 
 	private int getLenght() {
 		int length = 0;
 		for (BufferFragment fragment : fragments) {
-			length += fragment.byteLength;
+			length += fragment.maxLength;
 		}
 		return length;
 	}
+
+	private static int align(int value, int alignment) {
+		int remainder = value % alignment;
+		return remainder == 0 ? value : value + alignment - remainder;
+	}
 	
 	/**
 	 * Returns the byte offset of the given array.
@@ -273,11 +572,54 @@ public class Buffer {
 		return fragment.byteLength;
 	}
 
+	/**
+	 * Returns the type of the values contained in the given array.
+	 * 
+	 * @param name
+	 * @return the type of the values contained in the given array
+	 */
+	public DataType getDataType(String name) {
+		BufferFragment fragment = namedFragments.get(name);
+		if (fragment == null) {
+			throw new IllegalStateException("Fragment with name " + name
+					+ " not found!");
+		}
+		return fragment.dataType;
+	}
+
+	/**
+	 * Returns the type of the values of the array located at the given byte
+	 * offset.
+	 * 
+	 * @param byteOffset
+	 * @return the type of the values at the given offset or null if no array
+	 *         is located there
+	 */
+	DataType getDataTypeAt(int byteOffset) {
+		for (BufferFragment fragment : fragments) {
+			if (byteOffset >= fragment.offset
+					&& byteOffset < fragment.offset + fragment.maxLength) {
+				return fragment.dataType;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Delete the underlying Buffer object.
 	 */
 	public void delete() {
 		glContext.deleteBuffer(nativeBufferObject);
+		webGLWrapper.forgetBuffer(this);
+	}
+
+	/**
+	 * Returns the {@link BufferTarget} the Buffer is bound to.
+	 * 
+	 * @return the {@link BufferTarget} the Buffer is bound to
+	 */
+	public BufferTarget getTarget() {
+		return target;
 	}
 
 	/**
@@ -0,0 +1,141 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import com.google.gwt.typedarrays.client.ArrayBuffer;
+import com.google.gwt.typedarrays.client.Int8Array;
+import com.googlecode.gwtgl.wrapper.Array.IntBasedArray;
+import com.googlecode.gwtgl.wrapper.enums.DataType;
+
+/**
+ * Wrapper for byte array type.
+ */
+public class ByteArray extends IntBasedArray<Int8Array> {
+	
+	/**
+	 * Create a new Int8Array object of the given length with a new underlying ArrayBuffer large enough to hold length elements of the specific type. Data in the buffer is initialized to 0.
+	 * 
+	 * @param length
+	 */
+	public ByteArray(int length) {
+		super(Int8Array.create(length));
+	};
+	
+	/**
+	 * Create a new Int8Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Int8Array)} to adopt the given array without copying it.
+	 * 
+	 * @param array
+	 */
+	public ByteArray(Int8Array array) {
+		this(array, true);
+	};
+	
+	private ByteArray(Int8Array array, boolean copy) {
+		super(copy ? Int8Array.create(array) : array);
+	}
+	
+	/**
+	 * Create a new Int8Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * 
+	 * @param array
+	 */
+	public ByteArray(int[] array) {
+		super(Int8Array.create(array));
+	};
+	
+	/**
+	 * Create a new Int8Array object using the passed ArrayBuffer for its storage.
+	 * 
+	 * @param buffer
+	 */
+	public ByteArray(ArrayBuffer buffer) {
+		super(Int8Array.create(buffer));
+	};
+	
+	/**
+	 * Create a new Int8Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	public ByteArray(ArrayBuffer buffer, int byteOffset) {
+		super(Int8Array.create(buffer, byteOffset));
+	};
+	
+	/**
+	 * Create a new Int8Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 * @param length
+	 */
+	public ByteArray(ArrayBuffer buffer, int byteOffset, int length) {
+		super(Int8Array.create(buffer, byteOffset, length));
+	};
+	
+	/**
+	 * Creates a ByteArray that uses the given Int8Array directly as its storage. No data is copied, so changes to the given array are visible in the ByteArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the ByteArray wrapping the given array
+	 */
+	public static ByteArray wrap(Int8Array array) {
+		return new ByteArray(array, false);
+	}
+	
+	/**
+	 * Creates a ByteArray with a new underlying ArrayBuffer and copies the data of the given Int8Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the ByteArray containing a copy of the given data
+	 */
+	public static ByteArray copyOf(Int8Array array) {
+		return new ByteArray(array, true);
+	}
+	
+	/**
+	 * Creates a ByteArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the ByteArray containing the given values
+	 */
+	public static ByteArray copyOf(int[] array) {
+		return new ByteArray(array);
+	}
+
+	@Override
+	public DataType getDataType() {
+		return DataType.BYTE;
+	}
+
+}
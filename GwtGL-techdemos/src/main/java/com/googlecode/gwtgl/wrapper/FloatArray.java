@@ -39,13 +39,18 @@ public class FloatArray extends Array<Float32Array, Float> {
 	
 	/**
 	 * Create a new Float32Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Float32Array)} to adopt the given array without copying it.
 	 * 
 	 * @param array
 	 */
 	public FloatArray(Float32Array array) {
-		super(Float32Array.create(array));
+		this(array, true);
 	};
 	
+	private FloatArray(Float32Array array, boolean copy) {
+		super(copy ? Float32Array.create(array) : array);
+	}
+	
 	/**
 	 * Create a new Float32Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
 	 * 
@@ -100,6 +105,36 @@ public class FloatArray extends Array<Float32Array, Float> {
 	public FloatArray(ArrayBuffer buffer, int byteOffset, int length) {
 		super(Float32Array.create(buffer, byteOffset, length));
 	};
+	
+	/**
+	 * Creates a FloatArray that uses the given Float32Array directly as its storage. No data is copied, so changes to the given array are visible in the FloatArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the FloatArray wrapping the given array
+	 */
+	public static FloatArray wrap(Float32Array array) {
+		return new FloatArray(array, false);
+	}
+	
+	/**
+	 * Creates a FloatArray with a new underlying ArrayBuffer and copies the data of the given Float32Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the FloatArray containing a copy of the given data
+	 */
+	public static FloatArray copyOf(Float32Array array) {
+		return new FloatArray(array, true);
+	}
+	
+	/**
+	 * Creates a FloatArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the FloatArray containing the given values
+	 */
+	public static FloatArray copyOf(float[] array) {
+		return new FloatArray(array);
+	}
 
 	/**
 	 * Return the element at the given index. If the index is out of range, an exception is raised. This is an index getter function, and may be invoked via array index syntax where applicable.
@@ -166,6 +201,139 @@ public class FloatArray extends Array<Float32Array, Float> {
 		getNativeArray().set(array, offset);
 	};
 
+	/**
+	 * Passes all values of the array to the given consumer in ascending order. In contrast to {@link #iterator()} the values aren't boxed.
+	 * 
+	 * @param consumer
+	 */
+	public void forEach(FloatConsumer consumer) {
+		int length = getLength();
+		for (int i = 0; i < length; i++) {
+			consumer.accept(get(i));
+		}
+	}
+
+	/**
+	 * Combines all values of the array in ascending order using the given reducer.
+	 * 
+	 * @param initialValue the value passed to the first call of the reducer
+	 * @param reducer
+	 * @return the result of the last call of the reducer or the initial value if the array is empty
+	 */
+	public float reduce(float initialValue, FloatReducer reducer) {
+		float result = initialValue;
+		int length = getLength();
+		for (int i = 0; i < length; i++) {
+			result = reducer.reduce(result, get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Copies all values of the array into the given Java array.
+	 * 
+	 * If the offset plus the length of this array is out of range for the destination array, an exception is raised.
+	 * 
+	 * @param dst the array to copy the values into
+	 * @param offset the index in the destination array where the first value is written
+	 */
+	public void copyTo(float[] dst, int offset) {
+		int length = getLength();
+		if (offset < 0 || offset + length > dst.length) {
+			throw new IndexOutOfBoundsException("Copying " + length + " values to offset " + offset + " exceeds the destination length " + dst.length);
+		}
+		for (int i = 0; i < length; i++) {
+			dst[offset + i] = get(i);
+		}
+	}
+
+	/**
+	 * Returns the values of the array as a Java array.
+	 * 
+	 * @return a new Java array containing the values
+	 */
+	public float[] toArray() {
+		float[] result = new float[getLength()];
+		copyTo(result, 0);
+		return result;
+	}
+
+	/**
+	 * Returns the smallest value of the array.
+	 * 
+	 * @return the smallest value or Float.MAX_VALUE if the array is empty
+	 */
+	public float min() {
+		float result = Float.MAX_VALUE;
+		int length = getLength();
+		for (int i = 0; i < length; i++) {
+			float value = get(i);
+			if (value < result) {
+				result = value;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the largest value of the array.
+	 * 
+	 * @return the largest value or -Float.MAX_VALUE if the array is empty
+	 */
+	public float max() {
+		float result = -Float.MAX_VALUE;
+		int length = getLength();
+		for (int i = 0; i < length; i++) {
+			float value = get(i);
+			if (value > result) {
+				result = value;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Calculates the axis aligned bounding box of the vertices stored in the array. The array is expected to contain tightly packed vectors of the given size, e.g. 3 for x, y and z.
+	 * 
+	 * @param size the number of components per vertex
+	 * @param min receives the minimum of each component, must have at least size elements
+	 * @param max receives the maximum of each component, must have at least size elements
+	 */
+	public void getBounds(int size, float[] min, float[] max) {
+		getBounds(0, size, size, min, max);
+	}
+
+	/**
+	 * Calculates the axis aligned bounding box of interleaved vertex data. The components of the first vertex start at the given offset, the following vertices are stride elements apart. If the array contains no vertex, min is filled with Float.MAX_VALUE and max with -Float.MAX_VALUE.
+	 * 
+	 * @param offset the index of the first component of the first vertex
+	 * @param stride the number of elements between the starts of two consecutive vertices
+	 * @param size the number of components per vertex
+	 * @param min receives the minimum of each component, must have at least size elements
+	 * @param max receives the maximum of each component, must have at least size elements
+	 */
+	public void getBounds(int offset, int stride, int size, float[] min, float[] max) {
+		if (size < 1 || stride < size || offset < 0) {
+			throw new IllegalArgumentException("Invalid layout: offset " + offset + ", stride " + stride + ", size " + size);
+		}
+		for (int c = 0; c < size; c++) {
+			min[c] = Float.MAX_VALUE;
+			max[c] = -Float.MAX_VALUE;
+		}
+		int length = getLength();
+		for (int v = offset; v + size <= length; v += stride) {
+			for (int c = 0; c < size; c++) {
+				float value = get(v + c);
+				if (value < min[c]) {
+					min[c] = value;
+				}
+				if (value > max[c]) {
+					max[c] = value;
+				}
+			}
+		}
+	}
+	
 	@Override
 	public DataType getDataType() {
 		return DataType.FLOAT;
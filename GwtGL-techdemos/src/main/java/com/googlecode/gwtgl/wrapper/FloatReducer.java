@@ -0,0 +1,34 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+/**
+ * Combines the values of a {@link FloatArray} into one value without
+ * boxing them.
+ */
+public interface FloatReducer {
+
+	/**
+	 * Combines the result so far with the next value of the array.
+	 * 
+	 * @param accumulator
+	 *            the result of the previous call or the initial value
+	 * @param value
+	 *            the next value of the array
+	 * @return the new result
+	 */
+	float reduce(float accumulator, float value);
+}
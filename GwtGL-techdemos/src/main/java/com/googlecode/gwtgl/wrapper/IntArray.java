@@ -39,13 +39,18 @@ public class IntArray extends IntBasedArray<Int32Array> {
 	
 	/**
 	 * Create a new Int32Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Int32Array)} to adopt the given array without copying it.
 	 * 
 	 * @param array
 	 */
 	public IntArray(Int32Array array) {
-		super(Int32Array.create(array));
+		this(array, true);
 	};
 	
+	private IntArray(Int32Array array, boolean copy) {
+		super(copy ? Int32Array.create(array) : array);
+	}
+	
 	/**
 	 * Create a new Int32Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
 	 * 
@@ -100,6 +105,36 @@ public class IntArray extends IntBasedArray<Int32Array> {
 	public IntArray(ArrayBuffer buffer, int byteOffset, int length) {
 		super(Int32Array.create(buffer, byteOffset, length));
 	};
+	
+	/**
+	 * Creates a IntArray that uses the given Int32Array directly as its storage. No data is copied, so changes to the given array are visible in the IntArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the IntArray wrapping the given array
+	 */
+	public static IntArray wrap(Int32Array array) {
+		return new IntArray(array, false);
+	}
+	
+	/**
+	 * Creates a IntArray with a new underlying ArrayBuffer and copies the data of the given Int32Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the IntArray containing a copy of the given data
+	 */
+	public static IntArray copyOf(Int32Array array) {
+		return new IntArray(array, true);
+	}
+	
+	/**
+	 * Creates a IntArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the IntArray containing the given values
+	 */
+	public static IntArray copyOf(int[] array) {
+		return new IntArray(array);
+	}
 
 	@Override
 	public DataType getDataType() {
@@ -29,6 +29,10 @@ public class Shader {
 	final WebGLShader nativeShaderObject;
 	private final WebGLRenderingContext glContext;
 	private final WebGLWrapper webGLWrapper;
+
+	private int referenceCount = 1;
+	ShaderProgramCache cache;
+	String cacheKey;
 	
 	/**
 	 * Creates a Shader of the given type associated to the given webGLWrapper.
@@ -78,10 +82,43 @@ public class Shader {
 	}
 
 	/**
-	 * Delete the underlying Shader object.
+	 * Releases one reference to the Shader. The underlying Shader object is
+	 * deleted when the last reference is released. A Shader has one reference
+	 * after its creation and gets another one for each program of a
+	 * {@link ShaderProgramCache} that shares it.
 	 */
 	public void delete() {
+		if (referenceCount <= 0) {
+			throw new IllegalStateException("The Shader is already deleted!");
+		}
+		referenceCount--;
+		if (referenceCount > 0) {
+			return;
+		}
 		glContext.deleteShader(nativeShaderObject);
+		if (cache != null) {
+			cache.onDelete(this);
+		}
+	}
+
+	/**
+	 * Adds a reference to the Shader.
+	 */
+	void retain() {
+		if (referenceCount <= 0) {
+			throw new IllegalStateException("The Shader is already deleted!");
+		}
+		referenceCount++;
+	}
+
+	/**
+	 * Returns the number of references to the Shader. The underlying Shader
+	 * object is deleted when it drops to 0.
+	 * 
+	 * @return the number of references
+	 */
+	public int getReferenceCount() {
+		return referenceCount;
 	}
 	
 	/**
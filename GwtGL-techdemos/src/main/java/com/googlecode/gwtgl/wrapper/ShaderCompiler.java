@@ -0,0 +1,236 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.googlecode.gwtgl.binding.WebGLRenderingContext;
+import com.googlecode.gwtgl.wrapper.enums.ShaderType;
+
+/**
+ * Compiles and links {@link ShaderProgram}s without stalling on status
+ * queries. Requests are collected by {@link #add(String, String, Callback)}
+ * and issued together by {@link #flush()}: first all shaders are compiled,
+ * then all programs are linked. The compile and link status is queried in a
+ * later frame by {@link #poll()}, when the driver had time to finish the work
+ * in the background, and the result is passed to the {@link Callback} of the
+ * request.
+ * 
+ * If the browser supports the KHR_parallel_shader_compile extension, programs
+ * whose link hasn't completed yet are kept pending until a later poll instead
+ * of blocking.
+ */
+public class ShaderCompiler {
+
+	/**
+	 * Receives the result of a compile and link request.
+	 */
+	public interface Callback {
+		/**
+		 * Called when the program was linked successfully.
+		 * 
+		 * @param program
+		 *            the linked program
+		 */
+		void onSuccess(ShaderProgram program);
+
+		/**
+		 * Called when a shader didn't compile or the program didn't link.
+		 * 
+		 * @param program
+		 *            the program that failed
+		 * @param infoLog
+		 *            the info logs of the failed shaders and the program
+		 */
+		void onFailure(ShaderProgram program, String infoLog);
+	}
+
+	private static final int COMPLETION_STATUS_KHR = 0x91B1;
+
+	private static final int POLL_INTERVAL_MILLIS = 16;
+
+	private static class Request {
+		private final String vertexSource;
+		private final String fragmentSource;
+		private final Callback callback;
+		private final ShaderProgram program;
+		private Shader vertexShader;
+		private Shader fragmentShader;
+
+		private Request(String vertexSource, String fragmentSource,
+				Callback callback, ShaderProgram program) {
+			this.vertexSource = vertexSource;
+			this.fragmentSource = fragmentSource;
+			this.callback = callback;
+			this.program = program;
+		}
+	}
+
+	private final WebGLWrapper webGLWrapper;
+	private final WebGLRenderingContext glContext;
+	private final boolean parallelCompile;
+	private final List<Request> queued = new ArrayList<Request>();
+	private final List<Request> pending = new ArrayList<Request>();
+	private boolean polling = false;
+
+	/**
+	 * Creates a ShaderCompiler associated to the given webGLWrapper.
+	 * 
+	 * @param webGLWrapper
+	 */
+	public ShaderCompiler(WebGLWrapper webGLWrapper) {
+		this.webGLWrapper = webGLWrapper;
+		this.glContext = webGLWrapper.glContext;
+		this.parallelCompile = glContext
+				.getExtension("KHR_parallel_shader_compile") != null;
+	}
+
+	/**
+	 * Queues a program consisting of the given vertex and fragment shader
+	 * sources. Nothing is sent to the driver until {@link #flush()} is called.
+	 * 
+	 * @param vertexSource
+	 * @param fragmentSource
+	 * @param callback
+	 *            receives the result after the program was linked
+	 * @return the program, which must not be used before the callback was
+	 *         called
+	 */
+	public ShaderProgram add(String vertexSource, String fragmentSource,
+			Callback callback) {
+		ShaderProgram program = new ShaderProgram(webGLWrapper);
+		queued.add(new Request(vertexSource, fragmentSource, callback, program));
+		return program;
+	}
+
+	/**
+	 * Issues the compile and link calls of all queued requests without
+	 * querying any status and schedules the polling of the results.
+	 */
+	public void flush() {
+		if (queued.isEmpty()) {
+			return;
+		}
+		for (Request request : queued) {
+			request.vertexShader = new Shader(webGLWrapper,
+					ShaderType.VERTEX_SHADER, request.vertexSource);
+			request.fragmentShader = new Shader(webGLWrapper,
+					ShaderType.FRAGMENT_SHADER, request.fragmentSource);
+		}
+		for (Request request : queued) {
+			request.program.attachShader(request.vertexShader);
+			request.program.attachShader(request.fragmentShader);
+			request.program.issueLink();
+		}
+		pending.addAll(queued);
+		queued.clear();
+		schedulePolling();
+	}
+
+	private void schedulePolling() {
+		if (polling) {
+			return;
+		}
+		polling = true;
+		Scheduler.get().scheduleFixedDelay(new RepeatingCommand() {
+			@Override
+			public boolean execute() {
+				poll();
+				polling = !pending.isEmpty();
+				return polling;
+			}
+		}, POLL_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * Queries the results of the flushed requests and calls their callbacks.
+	 * This is done automatically after {@link #flush()}, but may also be
+	 * called from the render loop to deliver the results earlier.
+	 * 
+	 * @return the number of requests that are still pending
+	 */
+	public int poll() {
+		Iterator<Request> iterator = pending.iterator();
+		while (iterator.hasNext()) {
+			Request request = iterator.next();
+			ShaderProgram program = request.program;
+			if (parallelCompile
+					&& !glContext.getProgramParameterb(
+							program.nativeProgramObject, COMPLETION_STATUS_KHR)) {
+				continue;
+			}
+			iterator.remove();
+			if (program.isLinked()) {
+				program.introspect();
+				request.vertexShader.delete();
+				request.fragmentShader.delete();
+				request.callback.onSuccess(program);
+			} else {
+				String infoLog = getInfoLog(request);
+				request.vertexShader.delete();
+				request.fragmentShader.delete();
+				request.callback.onFailure(program, infoLog);
+			}
+		}
+		return pending.size();
+	}
+
+	private static String getInfoLog(Request request) {
+		StringBuilder infoLog = new StringBuilder();
+		if (!request.vertexShader.isCompiled()) {
+			infoLog.append("Vertex shader: ")
+					.append(request.vertexShader.getInfoLog()).append('\n');
+		}
+		if (!request.fragmentShader.isCompiled()) {
+			infoLog.append("Fragment shader: ")
+					.append(request.fragmentShader.getInfoLog()).append('\n');
+		}
+		infoLog.append("Program: ").append(request.program.getProgramInfoLog());
+		return infoLog.toString();
+	}
+
+	/**
+	 * Returns the number of requests that were added but not flushed yet.
+	 * 
+	 * @return the number of queued requests
+	 */
+	public int getQueuedCount() {
+		return queued.size();
+	}
+
+	/**
+	 * Returns the number of flushed requests whose result wasn't delivered
+	 * yet.
+	 * 
+	 * @return the number of pending requests
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns the {@link WebGLWrapper} the ShaderCompiler is associated to.
+	 * 
+	 * @return the {@link WebGLWrapper} the ShaderCompiler is associated to
+	 */
+	public WebGLWrapper getWebGLWrapper() {
+		return webGLWrapper;
+	}
+}
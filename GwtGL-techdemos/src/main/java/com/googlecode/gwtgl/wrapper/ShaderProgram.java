@@ -15,21 +15,164 @@
  */
 package com.googlecode.gwtgl.wrapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.typedarrays.client.Float32Array;
+import com.google.gwt.typedarrays.client.Int32Array;
+import com.googlecode.gwtgl.binding.WebGLActiveInfo;
 import com.googlecode.gwtgl.binding.WebGLProgram;
 import com.googlecode.gwtgl.binding.WebGLRenderingContext;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
 
 /**
- * A wrapper class for the shader program
+ * A wrapper class for the shader program.
+ * 
+ * After the program was linked successfully, its active uniforms and
+ * attributes are queried once and their locations are served from memory
+ * afterwards. Names that aren't found in the active variables are looked up
+ * once and cached as well, even if they don't exist.
+ * 
+ * Uniform values set by the setUniform methods are kept in a shadow store per
+ * active uniform. A value that equals the stored one isn't passed to the
+ * context again. Values that are set directly through the
+ * {@link WebGLWrapper} bypass the shadow store, so
+ * {@link #invalidateUniformShadows()} has to be called afterwards.
+ * 
  * @author Steffen Schäfer
  *
  */
 public class ShaderProgram {
+
+	/**
+	 * Describes an active uniform or attribute of a linked ShaderProgram.
+	 */
+	public static class ActiveVariable {
+		private final String name;
+		private final int type;
+		private final int size;
+		private final int attribLocation;
+		private final WebGLUniformLocation uniformLocation;
+		private int components;
+		private Float32Array floatValues;
+		private Int32Array intValues;
+		private int knownLength = 0;
+
+		private ActiveVariable(WebGLActiveInfo info, int attribLocation,
+				WebGLUniformLocation uniformLocation) {
+			this.name = info.getName();
+			this.type = info.getType();
+			this.size = info.getSize();
+			this.attribLocation = attribLocation;
+			this.uniformLocation = uniformLocation;
+		}
+
+		/**
+		 * @return the name of the variable as reported by the driver
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the GL type of the variable, e.g. FLOAT_VEC3
+		 */
+		public int getType() {
+			return type;
+		}
+
+		/**
+		 * @return the number of array elements, 1 for non array variables
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the location of an attribute, -1 for uniforms
+		 */
+		public int getAttribLocation() {
+			return attribLocation;
+		}
+
+		/**
+		 * @return the location of a uniform, null for attributes
+		 */
+		public WebGLUniformLocation getUniformLocation() {
+			return uniformLocation;
+		}
+
+		private void createShadow() {
+			switch (type) {
+			case WebGLRenderingContext.FLOAT:
+			case WebGLRenderingContext.FLOAT_VEC2:
+			case WebGLRenderingContext.FLOAT_VEC3:
+			case WebGLRenderingContext.FLOAT_VEC4:
+				components = type == WebGLRenderingContext.FLOAT ? 1 : type
+						- WebGLRenderingContext.FLOAT_VEC2 + 2;
+				break;
+			case WebGLRenderingContext.FLOAT_MAT2:
+				components = 4;
+				break;
+			case WebGLRenderingContext.FLOAT_MAT3:
+				components = 9;
+				break;
+			case WebGLRenderingContext.FLOAT_MAT4:
+				components = 16;
+				break;
+			case WebGLRenderingContext.INT_VEC2:
+			case WebGLRenderingContext.INT_VEC3:
+			case WebGLRenderingContext.INT_VEC4:
+				components = type - WebGLRenderingContext.INT_VEC2 + 2;
+				intValues = Int32Array.create(components * size);
+				return;
+			case WebGLRenderingContext.BOOL_VEC2:
+			case WebGLRenderingContext.BOOL_VEC3:
+			case WebGLRenderingContext.BOOL_VEC4:
+				components = type - WebGLRenderingContext.BOOL_VEC2 + 2;
+				intValues = Int32Array.create(components * size);
+				return;
+			default:
+				// INT, BOOL and the sampler types
+				components = 1;
+				intValues = Int32Array.create(size);
+				return;
+			}
+			floatValues = Float32Array.create(components * size);
+		}
+
+		private void checkValueCount(int count) {
+			if (count <= 0 || count % components != 0
+					|| count > components * size) {
+				throw new IllegalArgumentException(count
+						+ " values don't match the uniform " + name + "!");
+			}
+		}
+	}
 	
 	final WebGLProgram nativeProgramObject;
 	private final WebGLRenderingContext glContext;
 	private final WebGLWrapper webGLWrapper;
 
+	private final List<ActiveVariable> activeUniformList = new ArrayList<ActiveVariable>();
+	private final List<ActiveVariable> activeAttributeList = new ArrayList<ActiveVariable>();
+	private final Map<String, ActiveVariable> activeUniforms = new HashMap<String, ActiveVariable>();
+	private final Map<String, ActiveVariable> activeAttributes = new HashMap<String, ActiveVariable>();
+	private final Map<String, WebGLUniformLocation> uniformLocations = new HashMap<String, WebGLUniformLocation>();
+	private final Map<String, Integer> attribLocations = new HashMap<String, Integer>();
+
+	private final float[] floatScratch = new float[4];
+	private final int[] intScratch = new int[4];
+	private int uniformUploads = 0;
+	private int elidedUniformUploads = 0;
+
+	private int referenceCount = 1;
+	ShaderProgramCache cache;
+	String cacheKey;
+
 	/**
 	 * Creates a ShaderProgram associated to the given webGLWrapper.
 	 * 
@@ -80,14 +223,113 @@ public class ShaderProgram {
 	 * Links the ShaderProgram.
 	 */
 	public void linkProgram() {
+		issueLink();
+		if (isLinked()) {
+			introspect();
+		}
+	}
+
+	/**
+	 * Starts linking without querying the link status, so the driver can link
+	 * in the background. {@link #introspect()} has to be called once the
+	 * program is linked successfully.
+	 */
+	void issueLink() {
+		clearLocationCache();
 		glContext.linkProgram(nativeProgramObject);
 	}
 
 	/**
-	 * Delete the underlying Program object.
+	 * Queries the active uniforms and attributes of the linked program.
+	 */
+	void introspect() {
+		int numUniforms = getNumActiveUniforms();
+		for (int i = 0; i < numUniforms; i++) {
+			WebGLActiveInfo info = glContext.getActiveUniform(nativeProgramObject, i);
+			WebGLUniformLocation location = glContext.getUniformLocation(
+					nativeProgramObject, info.getName());
+			ActiveVariable uniform = new ActiveVariable(info, -1, location);
+			uniform.createShadow();
+			activeUniformList.add(uniform);
+			putActive(activeUniforms, uniform);
+			uniformLocations.put(uniform.getName(), location);
+			if (uniform.getName().endsWith("[0]")) {
+				uniformLocations.put(stripArraySuffix(uniform.getName()), location);
+			}
+		}
+		int numAttributes = getNumActiveAttributes();
+		for (int i = 0; i < numAttributes; i++) {
+			WebGLActiveInfo info = glContext.getActiveAttrib(nativeProgramObject, i);
+			int location = glContext.getAttribLocation(nativeProgramObject,
+					info.getName());
+			ActiveVariable attribute = new ActiveVariable(info, location, null);
+			activeAttributeList.add(attribute);
+			putActive(activeAttributes, attribute);
+			attribLocations.put(attribute.getName(), location);
+		}
+	}
+
+	private static void putActive(Map<String, ActiveVariable> map,
+			ActiveVariable variable) {
+		map.put(variable.getName(), variable);
+		if (variable.getName().endsWith("[0]")) {
+			map.put(stripArraySuffix(variable.getName()), variable);
+		}
+	}
+
+	private static String stripArraySuffix(String name) {
+		return name.substring(0, name.length() - 3);
+	}
+
+	private void clearLocationCache() {
+		activeUniformList.clear();
+		activeAttributeList.clear();
+		activeUniforms.clear();
+		activeAttributes.clear();
+		uniformLocations.clear();
+		attribLocations.clear();
+	}
+
+	/**
+	 * Releases one reference to the ShaderProgram. The underlying Program
+	 * object is deleted when the last reference is released. A ShaderProgram
+	 * has one reference after its creation and gets another one each time it
+	 * is returned by a {@link ShaderProgramCache}.
 	 */
 	public void delete() {
+		if (referenceCount <= 0) {
+			throw new IllegalStateException("The ShaderProgram is already deleted!");
+		}
+		referenceCount--;
+		if (referenceCount > 0) {
+			return;
+		}
+		clearLocationCache();
 		glContext.deleteProgram(nativeProgramObject);
+		webGLWrapper.forgetProgram(nativeProgramObject);
+		if (cache != null) {
+			cache.onDelete(this);
+		}
+	}
+
+	/**
+	 * Adds a reference to the ShaderProgram.
+	 */
+	void retain() {
+		if (referenceCount <= 0) {
+			throw new IllegalStateException("The ShaderProgram is already deleted!");
+		}
+		referenceCount++;
+	}
+
+	/**
+	 * Returns the number of references to the ShaderProgram. The underlying
+	 * Program object is deleted when it drops to 0.
+	 * 
+	 * @return the number of references
+	 */
+	public int getReferenceCount() {
+		return referenceCount;
 	}
 	
 	/**
@@ -176,29 +418,334 @@ public class ShaderProgram {
 	 * Sets the ShaderProgram as active ShaderProgram.
 	 */
 	public void useProgram() {
-		glContext.useProgram(nativeProgramObject);
+		webGLWrapper.useProgram(nativeProgramObject);
 	}
 	
 	/**
-	 * Returns the location of the attribute with the given name.
+	 * Returns the location of the attribute with the given name. The location
+	 * is only queried once per link.
 	 * 
 	 * @param name
-	 * @return the location of the attribute with the given name
+	 * @return the location of the attribute with the given name, -1 if there
+	 *         is no such active attribute
 	 */
 	public int getAttribLocation(String name) {
-		return glContext.getAttribLocation(nativeProgramObject, name);
+		Integer location = attribLocations.get(name);
+		if (location == null) {
+			location = glContext.getAttribLocation(nativeProgramObject, name);
+			attribLocations.put(name, location);
+		}
+		return location;
 	}
 	
 	/**
-	 * Returns the location of the uniform variable with the given name.
+	 * Returns the location of the uniform variable with the given name. The
+	 * location is only queried once per link.
 	 * 
 	 * @param name
-	 * @return the location of the uniform variable with the given name
+	 * @return the location of the uniform variable with the given name, null
+	 *         if there is no such active uniform
 	 */
 	public WebGLUniformLocation getUniformLocation(String name) {
-		return glContext.getUniformLocation(nativeProgramObject, name);
+		if (uniformLocations.containsKey(name)) {
+			return uniformLocations.get(name);
+		}
+		WebGLUniformLocation location = glContext.getUniformLocation(
+				nativeProgramObject, name);
+		uniformLocations.put(name, location);
+		return location;
+	}
+
+	/**
+	 * Returns the description of the active uniform with the given name. Array
+	 * uniforms can be given with or without the "[0]" suffix.
+	 * 
+	 * @param name
+	 * @return the active uniform or null if there is none with the given name
+	 */
+	public ActiveVariable getActiveUniform(String name) {
+		return activeUniforms.get(name);
+	}
+
+	/**
+	 * Returns the description of the active attribute with the given name.
+	 * 
+	 * @param name
+	 * @return the active attribute or null if there is none with the given
+	 *         name
+	 */
+	public ActiveVariable getActiveAttribute(String name) {
+		return activeAttributes.get(name);
+	}
+
+	/**
+	 * Returns the active uniforms found after the last successful link.
+	 * 
+	 * @return the active uniforms
+	 */
+	public List<ActiveVariable> getActiveUniforms() {
+		return Collections.unmodifiableList(activeUniformList);
+	}
+
+	/**
+	 * Returns the active attributes found after the last successful link.
+	 * 
+	 * @return the active attributes
+	 */
+	public List<ActiveVariable> getActiveAttributes() {
+		return Collections.unmodifiableList(activeAttributeList);
 	}
 	
+	/**
+	 * Sets the value of a float uniform unless it already has the given value.
+	 * Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 */
+	public void setUniform(String name, float v0) {
+		floatScratch[0] = v0;
+		updateFloats(activeUniforms.get(name), floatScratch, 1);
+	}
+
+	/**
+	 * Sets the value of a vec2 uniform unless it already has the given value.
+	 * Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 * @param v1
+	 */
+	public void setUniform(String name, float v0, float v1) {
+		floatScratch[0] = v0;
+		floatScratch[1] = v1;
+		updateFloats(activeUniforms.get(name), floatScratch, 2);
+	}
+
+	/**
+	 * Sets the value of a vec3 uniform unless it already has the given value.
+	 * Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 * @param v1
+	 * @param v2
+	 */
+	public void setUniform(String name, float v0, float v1, float v2) {
+		floatScratch[0] = v0;
+		floatScratch[1] = v1;
+		floatScratch[2] = v2;
+		updateFloats(activeUniforms.get(name), floatScratch, 3);
+	}
+
+	/**
+	 * Sets the value of a vec4 uniform unless it already has the given value.
+	 * Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 * @param v1
+	 * @param v2
+	 * @param v3
+	 */
+	public void setUniform(String name, float v0, float v1, float v2, float v3) {
+		floatScratch[0] = v0;
+		floatScratch[1] = v1;
+		floatScratch[2] = v2;
+		floatScratch[3] = v3;
+		updateFloats(activeUniforms.get(name), floatScratch, 4);
+	}
+
+	/**
+	 * Sets the value of an int, bool or sampler uniform unless it already has
+	 * the given value. If the uniform is a float uniform, the value is
+	 * converted. Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 */
+	public void setUniform(String name, int v0) {
+		ActiveVariable uniform = activeUniforms.get(name);
+		if (uniform != null && uniform.floatValues != null) {
+			floatScratch[0] = v0;
+			updateFloats(uniform, floatScratch, 1);
+		} else {
+			intScratch[0] = v0;
+			updateInts(uniform, intScratch, 1);
+		}
+	}
+
+	/**
+	 * Sets the value of a bool uniform unless it already has the given value.
+	 * Uniforms that aren't active are ignored.
+	 * 
+	 * @param name
+	 * @param v0
+	 */
+	public void setUniform(String name, boolean v0) {
+		setUniform(name, v0 ? 1 : 0);
+	}
+
+	/**
+	 * Sets the values of a float, vector, matrix or array uniform unless it
+	 * already has the given values. The number of values has to be a multiple
+	 * of the number of components of the uniform type. Uniforms that aren't
+	 * active are ignored.
+	 * 
+	 * @param name
+	 * @param values
+	 */
+	public void setUniform(String name, float[] values) {
+		updateFloats(activeUniforms.get(name), values, values.length);
+	}
+
+	/**
+	 * Sets the values of an int, bool, sampler or array uniform unless it
+	 * already has the given values. The number of values has to be a multiple
+	 * of the number of components of the uniform type. Uniforms that aren't
+	 * active are ignored.
+	 * 
+	 * @param name
+	 * @param values
+	 */
+	public void setUniform(String name, int[] values) {
+		updateInts(activeUniforms.get(name), values, values.length);
+	}
+
+	private void updateFloats(ActiveVariable uniform, float[] values, int count) {
+		if (uniform == null) {
+			return;
+		}
+		Float32Array shadow = uniform.floatValues;
+		if (shadow == null) {
+			throw new IllegalArgumentException("The uniform " + uniform.name
+					+ " isn't a float uniform!");
+		}
+		uniform.checkValueCount(count);
+		if (count <= uniform.knownLength) {
+			int i = 0;
+			while (i < count && shadow.get(i) == values[i]) {
+				i++;
+			}
+			if (i == count) {
+				elidedUniformUploads++;
+				return;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			shadow.set(i, values[i]);
+		}
+		uniform.knownLength = Math.max(uniform.knownLength, count);
+		Float32Array view = count == shadow.getLength() ? shadow : shadow
+				.subarray(0, count);
+		useProgram();
+		switch (uniform.type) {
+		case WebGLRenderingContext.FLOAT_MAT2:
+			glContext.uniformMatrix2fv(uniform.uniformLocation, false, view);
+			break;
+		case WebGLRenderingContext.FLOAT_MAT3:
+			glContext.uniformMatrix3fv(uniform.uniformLocation, false, view);
+			break;
+		case WebGLRenderingContext.FLOAT_MAT4:
+			glContext.uniformMatrix4fv(uniform.uniformLocation, false, view);
+			break;
+		case WebGLRenderingContext.FLOAT_VEC2:
+			glContext.uniform2fv(uniform.uniformLocation, view);
+			break;
+		case WebGLRenderingContext.FLOAT_VEC3:
+			glContext.uniform3fv(uniform.uniformLocation, view);
+			break;
+		case WebGLRenderingContext.FLOAT_VEC4:
+			glContext.uniform4fv(uniform.uniformLocation, view);
+			break;
+		default:
+			glContext.uniform1fv(uniform.uniformLocation, view);
+		}
+		uniformUploads++;
+	}
+
+	private void updateInts(ActiveVariable uniform, int[] values, int count) {
+		if (uniform == null) {
+			return;
+		}
+		Int32Array shadow = uniform.intValues;
+		if (shadow == null) {
+			throw new IllegalArgumentException("The uniform " + uniform.name
+					+ " isn't an int, bool or sampler uniform!");
+		}
+		uniform.checkValueCount(count);
+		if (count <= uniform.knownLength) {
+			int i = 0;
+			while (i < count && shadow.get(i) == values[i]) {
+				i++;
+			}
+			if (i == count) {
+				elidedUniformUploads++;
+				return;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			shadow.set(i, values[i]);
+		}
+		uniform.knownLength = Math.max(uniform.knownLength, count);
+		Int32Array view = count == shadow.getLength() ? shadow : shadow
+				.subarray(0, count);
+		useProgram();
+		switch (uniform.components) {
+		case 2:
+			glContext.uniform2iv(uniform.uniformLocation, view);
+			break;
+		case 3:
+			glContext.uniform3iv(uniform.uniformLocation, view);
+			break;
+		case 4:
+			glContext.uniform4iv(uniform.uniformLocation, view);
+			break;
+		default:
+			glContext.uniform1iv(uniform.uniformLocation, view);
+		}
+		uniformUploads++;
+	}
+
+	/**
+	 * Discards the shadow copies of all uniform values, so that the next
+	 * setUniform calls are passed to the context again. This has to be called
+	 * after uniforms of this program were set without using the setUniform
+	 * methods.
+	 */
+	public void invalidateUniformShadows() {
+		for (ActiveVariable uniform : activeUniformList) {
+			uniform.knownLength = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of setUniform calls that were passed to the context.
+	 * 
+	 * @return the number of uniform uploads
+	 */
+	public int getUniformUploads() {
+		return uniformUploads;
+	}
+
+	/**
+	 * Returns the number of setUniform calls that were skipped because the
+	 * uniform already had the given value.
+	 * 
+	 * @return the number of elided uniform uploads
+	 */
+	public int getElidedUniformUploads() {
+		return elidedUniformUploads;
+	}
+
+	/**
+	 * Resets the uniform upload counters to 0.
+	 */
+	public void resetUniformUploadCounters() {
+		uniformUploads = 0;
+		elidedUniformUploads = 0;
+	}
+
 	/**
 	 * Binds the Attribute with the given name to the given index.
 	 * 
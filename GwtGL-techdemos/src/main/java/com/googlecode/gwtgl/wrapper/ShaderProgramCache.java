@@ -0,0 +1,227 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.googlecode.gwtgl.wrapper.enums.ShaderType;
+
+/**
+ * Shares {@link ShaderProgram}s and {@link Shader}s that are created from the
+ * same sources. Programs are identified by their vertex and fragment source
+ * including the given defines and by their attribute bindings, shaders by
+ * their type and source. A program or shader is only compiled once, every
+ * further request for the same content returns the existing instance with an
+ * additional reference.
+ * 
+ * Each returned program has to be released by calling
+ * {@link ShaderProgram#delete()} once. The underlying objects are deleted
+ * when the last reference is released.
+ * 
+ * A program that fails to link is returned, so its info log can be read, but
+ * it is not shared. The next request for the same content links a new program.
+ */
+public class ShaderProgramCache {
+
+	private final WebGLWrapper webGLWrapper;
+	private final Map<String, ShaderProgram> programs = new HashMap<String, ShaderProgram>();
+	private final Map<String, Shader> shaders = new HashMap<String, Shader>();
+	private final Map<ShaderProgram, Shader[]> programShaders = new HashMap<ShaderProgram, Shader[]>();
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * Creates a ShaderProgramCache associated to the given webGLWrapper.
+	 * 
+	 * @param webGLWrapper
+	 */
+	public ShaderProgramCache(WebGLWrapper webGLWrapper) {
+		this.webGLWrapper = webGLWrapper;
+	}
+
+	/**
+	 * Returns a linked program for the given sources.
+	 * 
+	 * @param vertexSource
+	 * @param fragmentSource
+	 * @return the shared program
+	 */
+	public ShaderProgram getProgram(String vertexSource, String fragmentSource) {
+		return getProgram(vertexSource, fragmentSource,
+				Collections.<String, Integer> emptyMap());
+	}
+
+	/**
+	 * Returns a linked program for the given sources. The defines are added
+	 * to both sources, each one given as "NAME" or "NAME VALUE".
+	 * 
+	 * @param vertexSource
+	 * @param fragmentSource
+	 * @param attribBindings
+	 *            the attribute locations to bind before linking, by name
+	 * @param defines
+	 *            the preprocessor definitions to add to the sources
+	 * @return the shared program
+	 */
+	public ShaderProgram getProgram(String vertexSource, String fragmentSource,
+			Map<String, Integer> attribBindings, String... defines) {
+		String vertex = addDefines(vertexSource, defines);
+		String fragment = addDefines(fragmentSource, defines);
+		Map<String, Integer> sortedBindings = new TreeMap<String, Integer>(
+				attribBindings);
+		String key = createKey(vertex, fragment, sortedBindings);
+		ShaderProgram program = programs.get(key);
+		if (program != null) {
+			hits++;
+			program.retain();
+			return program;
+		}
+		misses++;
+		Shader vertexShader = getShader(ShaderType.VERTEX_SHADER, vertex);
+		Shader fragmentShader = getShader(ShaderType.FRAGMENT_SHADER, fragment);
+		program = new ShaderProgram(webGLWrapper);
+		program.attachShader(vertexShader);
+		program.attachShader(fragmentShader);
+		for (Map.Entry<String, Integer> binding : sortedBindings.entrySet()) {
+			program.bindAttribLocation(binding.getValue(), binding.getKey());
+		}
+		program.linkProgram();
+		program.cache = this;
+		if (program.isLinked()) {
+			program.cacheKey = key;
+			programs.put(key, program);
+		}
+		programShaders.put(program, new Shader[] { vertexShader, fragmentShader });
+		return program;
+	}
+
+	private Shader getShader(ShaderType shaderType, String source) {
+		String key = shaderType.name() + '\n' + source;
+		Shader shader = shaders.get(key);
+		if (shader != null) {
+			shader.retain();
+			return shader;
+		}
+		shader = new Shader(webGLWrapper, shaderType, source);
+		shader.cache = this;
+		shader.cacheKey = key;
+		shaders.put(key, shader);
+		return shader;
+	}
+
+	void onDelete(ShaderProgram program) {
+		if (program.cacheKey != null) {
+			programs.remove(program.cacheKey);
+		}
+		for (Shader shader : programShaders.remove(program)) {
+			shader.delete();
+		}
+	}
+
+	void onDelete(Shader shader) {
+		shaders.remove(shader.cacheKey);
+	}
+
+	private static String createKey(String vertexSource, String fragmentSource,
+			Map<String, Integer> attribBindings) {
+		StringBuilder key = new StringBuilder();
+		key.append(vertexSource.length()).append(':').append(vertexSource);
+		key.append(fragmentSource.length()).append(':').append(fragmentSource);
+		for (Map.Entry<String, Integer> binding : attribBindings.entrySet()) {
+			key.append(binding.getKey()).append('=').append(binding.getValue())
+					.append(';');
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Adds #define directives for the given defines to the source. They are
+	 * inserted after a leading #version directive, if there is one.
+	 * 
+	 * @param source
+	 * @param defines
+	 *            the definitions, each one given as "NAME" or "NAME VALUE"
+	 * @return the source with the added definitions
+	 */
+	public static String addDefines(String source, String... defines) {
+		if (defines.length == 0) {
+			return source;
+		}
+		int insertAt = 0;
+		if (source.trim().startsWith("#version")) {
+			int lineEnd = source.indexOf('\n', source.indexOf("#version"));
+			insertAt = lineEnd < 0 ? source.length() : lineEnd + 1;
+		}
+		StringBuilder result = new StringBuilder(source.substring(0, insertAt));
+		if (insertAt > 0 && source.charAt(insertAt - 1) != '\n') {
+			result.append('\n');
+		}
+		for (String define : defines) {
+			result.append("#define ").append(define).append('\n');
+		}
+		result.append(source.substring(insertAt));
+		return result.toString();
+	}
+
+	/**
+	 * Returns the number of distinct programs in the cache.
+	 * 
+	 * @return the number of cached programs
+	 */
+	public int getProgramCount() {
+		return programs.size();
+	}
+
+	/**
+	 * Returns the number of distinct shaders in the cache.
+	 * 
+	 * @return the number of cached shaders
+	 */
+	public int getShaderCount() {
+		return shaders.size();
+	}
+
+	/**
+	 * Returns the number of requests that were served by an existing program.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of requests that needed a new program.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the {@link WebGLWrapper} the ShaderProgramCache is associated
+	 * to.
+	 * 
+	 * @return the {@link WebGLWrapper} the ShaderProgramCache is associated to
+	 */
+	public WebGLWrapper getWebGLWrapper() {
+		return webGLWrapper;
+	}
+}
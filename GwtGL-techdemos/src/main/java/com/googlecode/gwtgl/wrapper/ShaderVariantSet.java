@@ -0,0 +1,249 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates variants of one shader program from sources that use #ifdef
+ * feature flags. Each feature gets a bit in a flag mask, and a variant is
+ * compiled the first time its mask is requested, with a #define for every
+ * set flag. Compiled variants are kept in a table indexed by the mask.
+ * 
+ * A define is only added to a stage whose source tests the feature in an
+ * #ifdef, #ifndef, #if or #elif directive, so variants that differ only in
+ * features of the other stage share the compiled shader through the
+ * {@link ShaderProgramCache}.
+ * 
+ * <pre>
+ * ShaderVariantSet variants = new ShaderVariantSet(cache, vertexSource,
+ * 		fragmentSource, "LIGHTING", "TEXTURE");
+ * ShaderProgram program = variants.getVariant(variants.getFlag("TEXTURE"));
+ * </pre>
+ */
+public class ShaderVariantSet {
+
+	/**
+	 * The maximum number of features of a ShaderVariantSet.
+	 */
+	public static final int MAX_FEATURES = 16;
+
+	private final ShaderProgramCache cache;
+	private final String vertexSource;
+	private final String fragmentSource;
+	private final String[] features;
+	private final ShaderProgram[] variants;
+	private final Map<String, Integer> attribBindings = new HashMap<String, Integer>();
+	private int compiledVariantCount = 0;
+
+	/**
+	 * Creates a ShaderVariantSet that compiles its variants with a new
+	 * {@link ShaderProgramCache}.
+	 * 
+	 * @param webGLWrapper
+	 * @param vertexSource
+	 * @param fragmentSource
+	 * @param features
+	 *            the names of the feature flags, the first one gets bit 0
+	 */
+	public ShaderVariantSet(WebGLWrapper webGLWrapper, String vertexSource,
+			String fragmentSource, String... features) {
+		this(new ShaderProgramCache(webGLWrapper), vertexSource,
+				fragmentSource, features);
+	}
+
+	/**
+	 * Creates a ShaderVariantSet that compiles its variants with the given
+	 * cache.
+	 * 
+	 * @param cache
+	 * @param vertexSource
+	 * @param fragmentSource
+	 * @param features
+	 *            the names of the feature flags, the first one gets bit 0
+	 */
+	public ShaderVariantSet(ShaderProgramCache cache, String vertexSource,
+			String fragmentSource, String... features) {
+		if (features.length > MAX_FEATURES) {
+			throw new IllegalArgumentException("At most " + MAX_FEATURES
+					+ " features are supported!");
+		}
+		this.cache = cache;
+		this.vertexSource = vertexSource;
+		this.fragmentSource = fragmentSource;
+		this.features = features.clone();
+		this.variants = new ShaderProgram[1 << features.length];
+	}
+
+	/**
+	 * Binds the attribute with the given name to the given index in every
+	 * variant. This has to be done before the first variant is compiled.
+	 * 
+	 * @param idx
+	 * @param name
+	 */
+	public void bindAttribLocation(int idx, String name) {
+		if (compiledVariantCount > 0) {
+			throw new IllegalStateException(
+					"Attribute locations can't be bound after a variant was compiled!");
+		}
+		attribBindings.put(name, idx);
+	}
+
+	/**
+	 * Returns the flag of the feature with the given name.
+	 * 
+	 * @param feature
+	 * @return the bit of the feature in the flag mask
+	 */
+	public int getFlag(String feature) {
+		for (int i = 0; i < features.length; i++) {
+			if (features[i].equals(feature)) {
+				return 1 << i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown feature " + feature);
+	}
+
+	/**
+	 * Returns the variant with the given features enabled.
+	 * 
+	 * @param enabledFeatures
+	 * @return the variant, compiled on the first request
+	 */
+	public ShaderProgram getVariant(String... enabledFeatures) {
+		int mask = 0;
+		for (String feature : enabledFeatures) {
+			mask |= getFlag(feature);
+		}
+		return getVariant(mask);
+	}
+
+	/**
+	 * Returns the variant for the given flag mask.
+	 * 
+	 * @param mask
+	 *            the flags of the enabled features
+	 * @return the variant, compiled on the first request
+	 */
+	public ShaderProgram getVariant(int mask) {
+		if (mask < 0 || mask >= variants.length) {
+			throw new IllegalArgumentException("Invalid feature mask " + mask);
+		}
+		ShaderProgram variant = variants[mask];
+		if (variant == null) {
+			variant = cache.getProgram(
+					ShaderProgramCache.addDefines(vertexSource,
+							getDefines(vertexSource, mask)),
+					ShaderProgramCache.addDefines(fragmentSource,
+							getDefines(fragmentSource, mask)), attribBindings);
+			variants[mask] = variant;
+			compiledVariantCount++;
+		}
+		return variant;
+	}
+
+	private String[] getDefines(String source, int mask) {
+		int count = 0;
+		String[] defines = new String[features.length];
+		for (int i = 0; i < features.length; i++) {
+			if ((mask & (1 << i)) != 0 && isTested(source, features[i])) {
+				defines[count++] = features[i];
+			}
+		}
+		String[] result = new String[count];
+		System.arraycopy(defines, 0, result, 0, count);
+		return result;
+	}
+
+	/**
+	 * Returns if the given feature appears as a whole identifier in one of the
+	 * conditional directives of the source, e.g. "#ifdef NAME" or
+	 * "#if defined(NAME)".
+	 */
+	private static boolean isTested(String source, String feature) {
+		int lineStart = 0;
+		while (lineStart < source.length()) {
+			int lineEnd = source.indexOf('\n', lineStart);
+			if (lineEnd < 0) {
+				lineEnd = source.length();
+			}
+			String line = source.substring(lineStart, lineEnd).trim();
+			if (line.startsWith("#")) {
+				String directive = line.substring(1).trim();
+				// covers #if, #ifdef and #ifndef
+				if ((directive.startsWith("if") || directive.startsWith("elif"))
+						&& containsIdentifier(directive, feature)) {
+					return true;
+				}
+			}
+			lineStart = lineEnd + 1;
+		}
+		return false;
+	}
+
+	private static boolean containsIdentifier(String text, String identifier) {
+		int index = text.indexOf(identifier);
+		while (index >= 0) {
+			int end = index + identifier.length();
+			if ((index == 0 || !isIdentifierPart(text.charAt(index - 1)))
+					&& (end == text.length() || !isIdentifierPart(text.charAt(end)))) {
+				return true;
+			}
+			index = text.indexOf(identifier, index + 1);
+		}
+		return false;
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+				|| (c >= '0' && c <= '9');
+	}
+
+	/**
+	 * Returns if the variant for the given flag mask is already compiled.
+	 * 
+	 * @param mask
+	 * @return true, if the variant is compiled, false otherwise
+	 */
+	public boolean isCompiled(int mask) {
+		return mask >= 0 && mask < variants.length && variants[mask] != null;
+	}
+
+	/**
+	 * Returns the number of compiled variants.
+	 * 
+	 * @return the number of compiled variants
+	 */
+	public int getCompiledVariantCount() {
+		return compiledVariantCount;
+	}
+
+	/**
+	 * Releases all compiled variants. Variants that are requested afterwards
+	 * are compiled again.
+	 */
+	public void delete() {
+		for (int i = 0; i < variants.length; i++) {
+			if (variants[i] != null) {
+				variants[i].delete();
+				variants[i] = null;
+			}
+		}
+		compiledVariantCount = 0;
+	}
+}
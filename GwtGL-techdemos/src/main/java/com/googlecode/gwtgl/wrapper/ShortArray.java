@@ -0,0 +1,141 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import com.google.gwt.typedarrays.client.ArrayBuffer;
+import com.google.gwt.typedarrays.client.Int16Array;
+import com.googlecode.gwtgl.wrapper.Array.IntBasedArray;
+import com.googlecode.gwtgl.wrapper.enums.DataType;
+
+/**
+ * Wrapper for short array type.
+ */
+public class ShortArray extends IntBasedArray<Int16Array> {
+	
+	/**
+	 * Create a new Int16Array object of the given length with a new underlying ArrayBuffer large enough to hold length elements of the specific type. Data in the buffer is initialized to 0.
+	 * 
+	 * @param length
+	 */
+	public ShortArray(int length) {
+		super(Int16Array.create(length));
+	};
+	
+	/**
+	 * Create a new Int16Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Int16Array)} to adopt the given array without copying it.
+	 * 
+	 * @param array
+	 */
+	public ShortArray(Int16Array array) {
+		this(array, true);
+	};
+	
+	private ShortArray(Int16Array array, boolean copy) {
+		super(copy ? Int16Array.create(array) : array);
+	}
+	
+	/**
+	 * Create a new Int16Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * 
+	 * @param array
+	 */
+	public ShortArray(int[] array) {
+		super(Int16Array.create(array));
+	};
+	
+	/**
+	 * Create a new Int16Array object using the passed ArrayBuffer for its storage.
+	 * 
+	 * @param buffer
+	 */
+	public ShortArray(ArrayBuffer buffer) {
+		super(Int16Array.create(buffer));
+	};
+	
+	/**
+	 * Create a new Int16Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	public ShortArray(ArrayBuffer buffer, int byteOffset) {
+		super(Int16Array.create(buffer, byteOffset));
+	};
+	
+	/**
+	 * Create a new Int16Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 * @param length
+	 */
+	public ShortArray(ArrayBuffer buffer, int byteOffset, int length) {
+		super(Int16Array.create(buffer, byteOffset, length));
+	};
+	
+	/**
+	 * Creates a ShortArray that uses the given Int16Array directly as its storage. No data is copied, so changes to the given array are visible in the ShortArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the ShortArray wrapping the given array
+	 */
+	public static ShortArray wrap(Int16Array array) {
+		return new ShortArray(array, false);
+	}
+	
+	/**
+	 * Creates a ShortArray with a new underlying ArrayBuffer and copies the data of the given Int16Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the ShortArray containing a copy of the given data
+	 */
+	public static ShortArray copyOf(Int16Array array) {
+		return new ShortArray(array, true);
+	}
+	
+	/**
+	 * Creates a ShortArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the ShortArray containing the given values
+	 */
+	public static ShortArray copyOf(int[] array) {
+		return new ShortArray(array);
+	}
+
+	@Override
+	public DataType getDataType() {
+		return DataType.SHORT;
+	}
+
+}
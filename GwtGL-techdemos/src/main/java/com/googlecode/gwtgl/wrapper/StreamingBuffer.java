@@ -0,0 +1,252 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import com.google.gwt.typedarrays.client.Float32Array;
+import com.googlecode.gwtgl.binding.WebGLBuffer;
+import com.googlecode.gwtgl.binding.WebGLRenderingContext;
+import com.googlecode.gwtgl.wrapper.enums.BufferTarget;
+import com.googlecode.gwtgl.wrapper.enums.BufferUsage;
+
+/**
+ * A vertex buffer for geometry that changes every frame, e.g. particles or
+ * debug lines. The buffer object is allocated once and split into one segment
+ * per frame in flight. Each frame writes its data sequentially into a
+ * persistent staging array and uploads it into the next segment with one
+ * bufferSubData call, so no buffer object is reallocated and the segments
+ * that may still be used by previous frames are not overwritten.
+ *
+ * A frame looks like this:
+ *
+ * <pre>
+ * streamingBuffer.beginFrame();
+ * int offset = streamingBuffer.write(vertices);
+ * streamingBuffer.bind();
+ * webGLWrapper.vertexAttribPointer(location, 3, DataType.FLOAT, false, 0, offset);
+ * webGLWrapper.drawArrays(PrimitiveRenderingMode.POINTS, 0, vertices.length / 3);
+ * </pre>
+ */
+public class StreamingBuffer {
+
+	private static final int BYTES_PER_FLOAT = 4;
+
+	private final WebGLWrapper webGLWrapper;
+	private final WebGLRenderingContext glContext;
+	private final WebGLBuffer nativeBufferObject;
+	private final BufferTarget target = BufferTarget.ARRAY_BUFFER;
+	private final int frameCapacity;
+	private final int framesInFlight;
+	private final Float32Array staging;
+
+	private boolean allocated = false;
+	private int segment = -1;
+	private int position = 0;
+	private int uploadedPosition = 0;
+	private long uploadedByteCount = 0;
+
+	/**
+	 * The view of the staging array that was uploaded last. It is reused while
+	 * the uploaded range stays the same, so frames that write the same amount of
+	 * data upload without allocating a new view.
+	 */
+	private Float32Array uploadView;
+	private int uploadViewBegin = -1;
+	private int uploadViewEnd = -1;
+
+	/**
+	 * Creates a StreamingBuffer associated to the given webGLWrapper.
+	 *
+	 * @param webGLWrapper
+	 * @param frameCapacity
+	 *            the number of floats that can be written per frame
+	 * @param framesInFlight
+	 *            the number of frames whose data is kept in the buffer object
+	 *            at the same time
+	 */
+	public StreamingBuffer(WebGLWrapper webGLWrapper, int frameCapacity,
+			int framesInFlight) {
+		if (frameCapacity <= 0 || framesInFlight <= 0) {
+			throw new IllegalArgumentException(
+					"The frame capacity and the number of frames in flight must be positive!");
+		}
+		this.webGLWrapper = webGLWrapper;
+		this.glContext = webGLWrapper.glContext;
+		this.nativeBufferObject = glContext.createBuffer();
+		this.frameCapacity = frameCapacity;
+		this.framesInFlight = framesInFlight;
+		this.staging = Float32Array.create(frameCapacity);
+		this.uploadView = staging;
+		this.uploadViewBegin = 0;
+		this.uploadViewEnd = frameCapacity;
+	}
+
+	/**
+	 * Starts a new frame. Following writes go to the next segment of the
+	 * buffer object.
+	 */
+	public void beginFrame() {
+		segment = (segment + 1) % framesInFlight;
+		position = 0;
+		uploadedPosition = 0;
+	}
+
+	/**
+	 * Writes the given values into the current frame.
+	 *
+	 * @param data
+	 * @return the byte offset of the data inside of the buffer object, to be
+	 *         used with vertexAttribPointer
+	 */
+	public int write(float[] data) {
+		return write(data, 0, data.length);
+	}
+
+	/**
+	 * Writes a range of the given values into the current frame.
+	 *
+	 * @param data
+	 * @param offset
+	 *            the index of the first value to write
+	 * @param length
+	 *            the number of values to write
+	 * @return the byte offset of the data inside of the buffer object, to be
+	 *         used with vertexAttribPointer
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is outside of the given array
+	 */
+	public int write(float[] data, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > data.length - length) {
+			throw new IndexOutOfBoundsException("The range [" + offset + ", "
+					+ (offset + length) + ") is outside of an array of length "
+					+ data.length);
+		}
+		int start = reserve(length);
+		staging.set(data, offset, length, start);
+		return getByteOffset(start);
+	}
+
+	/**
+	 * Writes the given values into the current frame.
+	 *
+	 * @param data
+	 * @return the byte offset of the data inside of the buffer object, to be
+	 *         used with vertexAttribPointer
+	 */
+	public int write(Float32Array data) {
+		int start = reserve(data.getLength());
+		staging.set(data, start);
+		return getByteOffset(start);
+	}
+
+	private int reserve(int length) {
+		if (segment < 0) {
+			throw new IllegalStateException(
+					"beginFrame() has to be called before writing data!");
+		}
+		if (position + length > frameCapacity) {
+			throw new IllegalStateException("Writing " + length
+					+ " values exceeds the frame capacity of " + frameCapacity
+					+ " values!");
+		}
+		int start = position;
+		position += length;
+		return start;
+	}
+
+	private int getByteOffset(int stagingIndex) {
+		return (segment * frameCapacity + stagingIndex) * BYTES_PER_FLOAT;
+	}
+
+	/**
+	 * Binds the buffer and uploads the values written since the last upload
+	 * with one bufferSubData call. The view of the staging array used for the
+	 * upload is kept and reused as long as the uploaded range does not change.
+	 */
+	public void bind() {
+		webGLWrapper.bindBuffer(target, nativeBufferObject);
+		if (!allocated) {
+			glContext.bufferData(target.getIntValue(), frameCapacity
+					* framesInFlight * BYTES_PER_FLOAT, BufferUsage.DYNAMIC_DRAW
+					.getIntValue());
+			allocated = true;
+		}
+		if (position > uploadedPosition) {
+			if (uploadViewBegin != uploadedPosition || uploadViewEnd != position) {
+				uploadView = staging.subarray(uploadedPosition, position);
+				uploadViewBegin = uploadedPosition;
+				uploadViewEnd = position;
+			}
+			glContext.bufferSubData(target.getIntValue(),
+					getByteOffset(uploadedPosition), uploadView);
+			uploadedByteCount += (position - uploadedPosition) * BYTES_PER_FLOAT;
+			uploadedPosition = position;
+		}
+	}
+
+	/**
+	 * Delete the underlying Buffer object.
+	 */
+	public void delete() {
+		glContext.deleteBuffer(nativeBufferObject);
+		webGLWrapper.forgetBuffer(nativeBufferObject);
+	}
+
+	/**
+	 * Returns the number of floats that can be written per frame.
+	 *
+	 * @return the number of floats that can be written per frame
+	 */
+	public int getFrameCapacity() {
+		return frameCapacity;
+	}
+
+	/**
+	 * Returns the number of frames whose data is kept in the buffer object.
+	 *
+	 * @return the number of frames in flight
+	 */
+	public int getFramesInFlight() {
+		return framesInFlight;
+	}
+
+	/**
+	 * Returns the number of floats written in the current frame.
+	 *
+	 * @return the number of floats written in the current frame
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the number of bytes uploaded to the buffer object since its
+	 * creation.
+	 *
+	 * @return the number of uploaded bytes
+	 */
+	public long getUploadedByteCount() {
+		return uploadedByteCount;
+	}
+
+	/**
+	 * Returns the {@link WebGLWrapper} the StreamingBuffer is associated to.
+	 *
+	 * @return the {@link WebGLWrapper} the StreamingBuffer is associated to
+	 */
+	public WebGLWrapper getWebGLWrapper() {
+		return webGLWrapper;
+	}
+}
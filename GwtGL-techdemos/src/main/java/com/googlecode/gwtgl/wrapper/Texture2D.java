@@ -129,6 +129,7 @@ public class Texture2D {
 	public void delete() {
 		destroyed = true;
 		glContext.deleteTexture(nativeTextureObject);
+		webGLWrapper.forgetTexture(nativeTextureObject);
 		imageToSet = null;
 	}
 
@@ -138,8 +139,8 @@ public class Texture2D {
 	 * @param textureUnit 0, 1, ... MAX
 	 */
 	public void setActiveAndBind(int textureUnit) {
-		glContext.activeTexture(WebGLRenderingContext.TEXTURE0 + textureUnit);
-		glContext.bindTexture(target.getIntValue(), nativeTextureObject);
+		webGLWrapper.activeTexture(textureUnit);
+		webGLWrapper.bindTexture(target, nativeTextureObject);
 		if (imageToSet != null) {
 			// FIXME remove hardcoded constants
 			glContext.texImage2D(target.getIntValue(), levelOfDetail, WebGLRenderingContext.RGBA,WebGLRenderingContext.RGBA, WebGLRenderingContext.UNSIGNED_BYTE, imageToSet
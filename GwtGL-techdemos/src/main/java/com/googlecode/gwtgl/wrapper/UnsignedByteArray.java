@@ -39,13 +39,18 @@ public class UnsignedByteArray extends IntBasedArray<Uint8Array> {
 	
 	/**
 	 * Create a new Uint8Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Uint8Array)} to adopt the given array without copying it.
 	 * 
 	 * @param array
 	 */
 	public UnsignedByteArray(Uint8Array array) {
-		super(Uint8Array.create(array));
+		this(array, true);
 	};
 	
+	private UnsignedByteArray(Uint8Array array, boolean copy) {
+		super(copy ? Uint8Array.create(array) : array);
+	}
+	
 	/**
 	 * Create a new Uint8Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
 	 * 
@@ -100,6 +105,36 @@ public class UnsignedByteArray extends IntBasedArray<Uint8Array> {
 	public UnsignedByteArray(ArrayBuffer buffer, int byteOffset, int length) {
 		super(Uint8Array.create(buffer, byteOffset, length));
 	};
+	
+	/**
+	 * Creates a UnsignedByteArray that uses the given Uint8Array directly as its storage. No data is copied, so changes to the given array are visible in the UnsignedByteArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the UnsignedByteArray wrapping the given array
+	 */
+	public static UnsignedByteArray wrap(Uint8Array array) {
+		return new UnsignedByteArray(array, false);
+	}
+	
+	/**
+	 * Creates a UnsignedByteArray with a new underlying ArrayBuffer and copies the data of the given Uint8Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the UnsignedByteArray containing a copy of the given data
+	 */
+	public static UnsignedByteArray copyOf(Uint8Array array) {
+		return new UnsignedByteArray(array, true);
+	}
+	
+	/**
+	 * Creates a UnsignedByteArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the UnsignedByteArray containing the given values
+	 */
+	public static UnsignedByteArray copyOf(int[] array) {
+		return new UnsignedByteArray(array);
+	}
 
 	@Override
 	public DataType getDataType() {
@@ -0,0 +1,141 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import com.google.gwt.typedarrays.client.ArrayBuffer;
+import com.google.gwt.typedarrays.client.Uint16Array;
+import com.googlecode.gwtgl.wrapper.Array.IntBasedArray;
+import com.googlecode.gwtgl.wrapper.enums.DataType;
+
+/**
+ * Wrapper for unsigned short array type.
+ */
+public class UnsignedShortArray extends IntBasedArray<Uint16Array> {
+	
+	/**
+	 * Create a new Uint16Array object of the given length with a new underlying ArrayBuffer large enough to hold length elements of the specific type. Data in the buffer is initialized to 0.
+	 * 
+	 * @param length
+	 */
+	public UnsignedShortArray(int length) {
+		super(Uint16Array.create(length));
+	};
+	
+	/**
+	 * Create a new Uint16Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * Use {@link #wrap(Uint16Array)} to adopt the given array without copying it.
+	 * 
+	 * @param array
+	 */
+	public UnsignedShortArray(Uint16Array array) {
+		this(array, true);
+	};
+	
+	private UnsignedShortArray(Uint16Array array, boolean copy) {
+		super(copy ? Uint16Array.create(array) : array);
+	}
+	
+	/**
+	 * Create a new Uint16Array object with a new underlying ArrayBuffer large enough to hold the given data, then copy the passed data into the buffer.
+	 * 
+	 * @param array
+	 */
+	public UnsignedShortArray(int[] array) {
+		super(Uint16Array.create(array));
+	};
+	
+	/**
+	 * Create a new Uint16Array object using the passed ArrayBuffer for its storage.
+	 * 
+	 * @param buffer
+	 */
+	public UnsignedShortArray(ArrayBuffer buffer) {
+		super(Uint16Array.create(buffer));
+	};
+	
+	/**
+	 * Create a new Uint16Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 */
+	public UnsignedShortArray(ArrayBuffer buffer, int byteOffset) {
+		super(Uint16Array.create(buffer, byteOffset));
+	};
+	
+	/**
+	 * Create a new Uint16Array object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.Create a new WebGLTypeNameArray object using the passed ArrayBuffer for its storage. Optional byteOffset and length can be used to limit the section of the buffer referenced. The byteOffset indicates the offset in bytes from the start of the ArrayBuffer, and the length is the count of elements from the offset that this WebGLByteArray will reference. If both byteOffset and length are omitted, the WebGLTypeNameArray spans the entire ArrayBuffer range. If the length is omitted, the WebGLTypeNameArray extends from the given byteOffset until the end of the ArrayBuffer.
+	 * 
+	 * The given byteOffset must be a multiple of the element size of the specific type, otherwise an exception is raised.
+	 * 
+	 * If a given byteOffset and length references an area beyond the end of the ArrayBuffer an exception is raised.
+	 * 
+	 * @param buffer
+	 * @param byteOffset
+	 * @param length
+	 */
+	public UnsignedShortArray(ArrayBuffer buffer, int byteOffset, int length) {
+		super(Uint16Array.create(buffer, byteOffset, length));
+	};
+	
+	/**
+	 * Creates a UnsignedShortArray that uses the given Uint16Array directly as its storage. No data is copied, so changes to the given array are visible in the UnsignedShortArray and vice versa. This also works for views created by subarray that share their ArrayBuffer with other views.
+	 * 
+	 * @param array the array to adopt
+	 * @return the UnsignedShortArray wrapping the given array
+	 */
+	public static UnsignedShortArray wrap(Uint16Array array) {
+		return new UnsignedShortArray(array, false);
+	}
+	
+	/**
+	 * Creates a UnsignedShortArray with a new underlying ArrayBuffer and copies the data of the given Uint16Array into it.
+	 * 
+	 * @param array the array to copy
+	 * @return the UnsignedShortArray containing a copy of the given data
+	 */
+	public static UnsignedShortArray copyOf(Uint16Array array) {
+		return new UnsignedShortArray(array, true);
+	}
+	
+	/**
+	 * Creates a UnsignedShortArray with a new underlying ArrayBuffer and copies the given values into it.
+	 * 
+	 * @param array the values to copy
+	 * @return the UnsignedShortArray containing the given values
+	 */
+	public static UnsignedShortArray copyOf(int[] array) {
+		return new UnsignedShortArray(array);
+	}
+
+	@Override
+	public DataType getDataType() {
+		return DataType.UNSIGNED_SHORT;
+	}
+
+}
@@ -0,0 +1,268 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gwt.typedarrays.client.ArrayBuffer;
+import com.google.gwt.typedarrays.client.Float32Array;
+import com.google.gwt.typedarrays.client.Int16Array;
+import com.google.gwt.typedarrays.client.Int32Array;
+import com.google.gwt.typedarrays.client.Int8Array;
+import com.google.gwt.typedarrays.client.IntBasedTypedArray;
+import com.google.gwt.typedarrays.client.Uint16Array;
+import com.google.gwt.typedarrays.client.Uint32Array;
+import com.google.gwt.typedarrays.client.Uint8Array;
+import com.googlecode.gwtgl.wrapper.enums.DataType;
+
+/**
+ * Describes the layout of interleaved vertex data. Each vertex consists of
+ * the added attributes in the order they were added. The offset of every
+ * attribute is aligned to the size of its {@link DataType} and the stride is
+ * aligned to 4 bytes.
+ */
+public class VertexLayout {
+
+	/**
+	 * One attribute of a {@link VertexLayout}.
+	 */
+	public static class Attribute {
+		private final String name;
+		private final int size;
+		private final DataType dataType;
+		private final boolean normalized;
+		private final int offset;
+
+		private Attribute(String name, int size, DataType dataType,
+				boolean normalized, int offset) {
+			this.name = name;
+			this.size = size;
+			this.dataType = dataType;
+			this.normalized = normalized;
+			this.offset = offset;
+		}
+
+		/**
+		 * @return the name of the attribute in the shader program
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of components of the attribute
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the type of the components
+		 */
+		public DataType getDataType() {
+			return dataType;
+		}
+
+		/**
+		 * @return true if integer values are normalized when they are accessed
+		 */
+		public boolean isNormalized() {
+			return normalized;
+		}
+
+		/**
+		 * @return the byte offset of the attribute inside of a vertex
+		 */
+		public int getOffset() {
+			return offset;
+		}
+	}
+
+	private final List<Attribute> attributes = new ArrayList<Attribute>();
+	private int vertexSize = 0;
+
+	/**
+	 * Adds a float attribute with the given number of components.
+	 *
+	 * @param name
+	 *            the name of the attribute in the shader program
+	 * @param size
+	 *            the number of components (1 to 4)
+	 * @return this layout
+	 */
+	public VertexLayout add(String name, int size) {
+		return add(name, size, DataType.FLOAT, false);
+	}
+
+	/**
+	 * Adds an attribute to the layout.
+	 *
+	 * @param name
+	 *            the name of the attribute in the shader program
+	 * @param size
+	 *            the number of components (1 to 4)
+	 * @param dataType
+	 *            the type of the components
+	 * @param normalized
+	 *            if integer values should be normalized when they are
+	 *            accessed
+	 * @return this layout
+	 */
+	public VertexLayout add(String name, int size, DataType dataType,
+			boolean normalized) {
+		if (size < 1 || size > 4) {
+			throw new IllegalArgumentException(
+					"The size of an attribute must be between 1 and 4!");
+		}
+		if (getAttribute(name) != null) {
+			throw new IllegalArgumentException("Attribute with name " + name
+					+ " already exists!");
+		}
+		int offset = align(vertexSize, dataType.getByteSize());
+		attributes.add(new Attribute(name, size, dataType, normalized, offset));
+		vertexSize = offset + size * dataType.getByteSize();
+		return this;
+	}
+
+	/**
+	 * Returns the attributes of the layout in the order they are stored.
+	 *
+	 * @return the attributes of the layout
+	 */
+	public List<Attribute> getAttributes() {
+		return Collections.unmodifiableList(attributes);
+	}
+
+	/**
+	 * Returns the attribute with the given name.
+	 *
+	 * @param name
+	 * @return the attribute with the given name or null if there is none
+	 */
+	public Attribute getAttribute(String name) {
+		for (Attribute attribute : attributes) {
+			if (attribute.name.equals(name)) {
+				return attribute;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of bytes between the starts of two consecutive
+	 * vertices.
+	 *
+	 * @return the stride in bytes
+	 */
+	public int getStride() {
+		return align(vertexSize, 4);
+	}
+
+	/**
+	 * Packs the given per attribute data into one interleaved array. The data
+	 * arrays have to be given in the order of the attributes and each has to
+	 * contain at least vertexCount * size values. Values of integer
+	 * attributes are converted like a TypedArray does when setting them.
+	 *
+	 * @param vertexCount
+	 *            the number of vertices to pack
+	 * @param data
+	 *            the values for each attribute
+	 * @return the interleaved data, ready to be added to a {@link Buffer}
+	 */
+	public UnsignedByteArray interleave(int vertexCount, float[]... data) {
+		int numAttributes = attributes.size();
+		if (data.length != numAttributes) {
+			throw new IllegalArgumentException("Expected data for "
+					+ numAttributes + " attributes but got " + data.length);
+		}
+		int stride = getStride();
+		ArrayBuffer buffer = ArrayBuffer.create(vertexCount * stride);
+
+		// views on the buffer and element based positions for each attribute
+		Float32Array floatView = null;
+		IntBasedTypedArray<?>[] intViews = new IntBasedTypedArray<?>[numAttributes];
+		int[] sizes = new int[numAttributes];
+		int[] strides = new int[numAttributes];
+		int[] offsets = new int[numAttributes];
+		for (int a = 0; a < numAttributes; a++) {
+			Attribute attribute = attributes.get(a);
+			if (data[a].length < vertexCount * attribute.size) {
+				throw new IllegalArgumentException("Not enough data for attribute "
+						+ attribute.name);
+			}
+			int byteSize = attribute.dataType.getByteSize();
+			sizes[a] = attribute.size;
+			strides[a] = stride / byteSize;
+			offsets[a] = attribute.offset / byteSize;
+			if (attribute.dataType == DataType.FLOAT) {
+				if (floatView == null) {
+					floatView = Float32Array.create(buffer);
+				}
+			} else {
+				intViews[a] = createIntView(attribute.dataType, buffer);
+			}
+		}
+
+		for (int v = 0; v < vertexCount; v++) {
+			for (int a = 0; a < numAttributes; a++) {
+				float[] src = data[a];
+				int size = sizes[a];
+				int srcIndex = v * size;
+				int dstIndex = v * strides[a] + offsets[a];
+				IntBasedTypedArray<?> intView = intViews[a];
+				if (intView == null) {
+					for (int c = 0; c < size; c++) {
+						floatView.set(dstIndex + c, src[srcIndex + c]);
+					}
+				} else {
+					for (int c = 0; c < size; c++) {
+						intView.set(dstIndex + c, (int) src[srcIndex + c]);
+					}
+				}
+			}
+		}
+		return new UnsignedByteArray(buffer);
+	}
+
+	private static IntBasedTypedArray<?> createIntView(DataType dataType,
+			ArrayBuffer buffer) {
+		switch (dataType) {
+		case BYTE:
+			return Int8Array.create(buffer);
+		case UNSIGNED_BYTE:
+			return Uint8Array.create(buffer);
+		case SHORT:
+			return Int16Array.create(buffer);
+		case UNSIGNED_SHORT:
+			return Uint16Array.create(buffer);
+		case INT:
+			return Int32Array.create(buffer);
+		case UNSIGNED_INT:
+			return Uint32Array.create(buffer);
+		default:
+			throw new IllegalArgumentException("Unsupported data type "
+					+ dataType);
+		}
+	}
+
+	private static int align(int value, int alignment) {
+		int remainder = value % alignment;
+		return remainder == 0 ? value : value + alignment - remainder;
+	}
+}
@@ -0,0 +1,450 @@
+/**   
+ * Copyright 2009-2010 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.gwtgl.wrapper;
+
+import com.google.gwt.typedarrays.client.Float32Array;
+import com.google.gwt.typedarrays.client.Int16Array;
+import com.google.gwt.typedarrays.client.Int8Array;
+import com.google.gwt.typedarrays.client.Uint16Array;
+import com.google.gwt.typedarrays.client.Uint8Array;
+import com.googlecode.gwtgl.wrapper.enums.DataType;
+
+/**
+ * Utility methods to compress vertex data by packing float values into
+ * smaller types. Normalized integers are converted back to floats by WebGL
+ * when the attribute pointer is set up as described by the matching
+ * {@link Encoding}. Octahedral normals store a unit vector in two 16 bit
+ * components instead of three floats and have to be decoded in the vertex
+ * shader.
+ * 
+ * Half floats can't be used as vertex attributes in WebGL, but are useful as
+ * compact storage and for textures using the OES_texture_half_float extension.
+ */
+public final class VertexPacker {
+
+	/**
+	 * The smallest positive normal half float, 2^-14.
+	 */
+	private static final float HALF_MIN_NORMAL = 6.103515625e-5f;
+
+	/**
+	 * The attribute formats produced by the packing methods.
+	 * 
+	 * WebGL decodes a signed normalized integer c of b bits as
+	 * (2c + 1) / (2^b - 1), so the signed encodings use the full range
+	 * [-2^(b-1), 2^(b-1) - 1] and can't represent 0 exactly. Unsigned
+	 * normalized integers are decoded as c / (2^b - 1).
+	 */
+	public enum Encoding {
+		/**
+		 * 8 bit signed normalized integers, see {@link VertexPacker#packSnorm8(float[])}.
+		 */
+		SNORM8(DataType.BYTE),
+		/**
+		 * 8 bit unsigned normalized integers, see {@link VertexPacker#packUnorm8(float[])}.
+		 */
+		UNORM8(DataType.UNSIGNED_BYTE),
+		/**
+		 * 16 bit signed normalized integers, see
+		 * {@link VertexPacker#packSnorm16(float[])} and
+		 * {@link VertexPacker#packOctahedralNormals(float[])}.
+		 */
+		SNORM16(DataType.SHORT),
+		/**
+		 * 16 bit unsigned normalized integers, see {@link VertexPacker#packUnorm16(float[])}.
+		 */
+		UNORM16(DataType.UNSIGNED_SHORT);
+
+		private final DataType dataType;
+
+		private Encoding(DataType dataType) {
+			this.dataType = dataType;
+		}
+
+		/**
+		 * @return the type to pass to vertexAttribPointer
+		 */
+		public DataType getDataType() {
+			return dataType;
+		}
+
+		/**
+		 * @return the normalized flag to pass to vertexAttribPointer
+		 */
+		public boolean isNormalized() {
+			return true;
+		}
+
+		/**
+		 * Adds an attribute of this encoding to the given layout.
+		 * 
+		 * @param layout
+		 * @param name
+		 *            the name of the attribute in the shader program
+		 * @param size
+		 *            the number of components
+		 * @return the layout
+		 */
+		public VertexLayout addTo(VertexLayout layout, String name, int size) {
+			return layout.add(name, size, dataType, isNormalized());
+		}
+	}
+
+	private VertexPacker() {
+	}
+
+	/**
+	 * Converts the given values to 16 bit half floats.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint16Array packHalfFloats(float[] src) {
+		int length = src.length;
+		Uint16Array dst = Uint16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toHalfFloat(src[i]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Converts the given values to 16 bit half floats.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint16Array packHalfFloats(Float32Array src) {
+		int length = src.getLength();
+		Uint16Array dst = Uint16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toHalfFloat(src.get(i)));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [-1, 1] to 8 bit signed normalized
+	 * integers, to be used with {@link Encoding#SNORM8}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Int8Array packSnorm8(float[] src) {
+		int length = src.length;
+		Int8Array dst = Int8Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toSnorm8(src[i]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [-1, 1] to 8 bit signed normalized
+	 * integers, to be used with {@link Encoding#SNORM8}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Int8Array packSnorm8(Float32Array src) {
+		int length = src.getLength();
+		Int8Array dst = Int8Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toSnorm8(src.get(i)));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [0, 1] to 8 bit unsigned normalized
+	 * integers, e.g. colors, to be used with {@link Encoding#UNORM8}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint8Array packUnorm8(float[] src) {
+		int length = src.length;
+		Uint8Array dst = Uint8Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toUnorm8(src[i]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [0, 1] to 8 bit unsigned normalized
+	 * integers, e.g. colors, to be used with {@link Encoding#UNORM8}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint8Array packUnorm8(Float32Array src) {
+		int length = src.getLength();
+		Uint8Array dst = Uint8Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toUnorm8(src.get(i)));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [-1, 1] to 16 bit signed normalized
+	 * integers, e.g. normals, to be used with {@link Encoding#SNORM16}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Int16Array packSnorm16(float[] src) {
+		int length = src.length;
+		Int16Array dst = Int16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toSnorm16(src[i]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [-1, 1] to 16 bit signed normalized
+	 * integers, e.g. normals, to be used with {@link Encoding#SNORM16}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Int16Array packSnorm16(Float32Array src) {
+		int length = src.getLength();
+		Int16Array dst = Int16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toSnorm16(src.get(i)));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [0, 1] to 16 bit unsigned normalized
+	 * integers, e.g. texture coordinates, to be used with
+	 * {@link Encoding#UNORM16}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint16Array packUnorm16(float[] src) {
+		int length = src.length;
+		Uint16Array dst = Uint16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toUnorm16(src[i]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given values in the range [0, 1] to 16 bit unsigned normalized
+	 * integers, e.g. texture coordinates, to be used with
+	 * {@link Encoding#UNORM16}.
+	 * 
+	 * @param src
+	 *            the values to pack
+	 * @return the packed values
+	 */
+	public static Uint16Array packUnorm16(Float32Array src) {
+		int length = src.getLength();
+		Uint16Array dst = Uint16Array.create(length);
+		for (int i = 0; i < length; i++) {
+			dst.set(i, toUnorm16(src.get(i)));
+		}
+		return dst;
+	}
+
+	/**
+	 * Packs the given normals as octahedral encoded 16 bit signed normalized
+	 * integers. Every normal of three components is stored in two components,
+	 * to be used with {@link Encoding#SNORM16} and a size of 2.
+	 * 
+	 * @param normals
+	 *            the normals as x, y, z triples
+	 * @return the packed normals as u, v pairs
+	 */
+	public static Int16Array packOctahedralNormals(float[] normals) {
+		int count = normals.length / 3;
+		Int16Array dst = Int16Array.create(count * 2);
+		float[] uv = new float[2];
+		for (int i = 0; i < count; i++) {
+			encodeOctahedral(normals[i * 3], normals[i * 3 + 1],
+					normals[i * 3 + 2], uv);
+			dst.set(i * 2, toSnorm16(uv[0]));
+			dst.set(i * 2 + 1, toSnorm16(uv[1]));
+		}
+		return dst;
+	}
+
+	/**
+	 * Maps the given normal to the octahedron and unfolds the lower half onto
+	 * the upper one.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param out
+	 *            receives the resulting u and v in the range [-1, 1]
+	 */
+	public static void encodeOctahedral(float x, float y, float z, float[] out) {
+		float sum = Math.abs(x) + Math.abs(y) + Math.abs(z);
+		if (sum == 0) {
+			out[0] = 0;
+			out[1] = 0;
+			return;
+		}
+		float u = x / sum;
+		float v = y / sum;
+		if (z < 0) {
+			float foldedU = (1 - Math.abs(v)) * signNotZero(u);
+			v = (1 - Math.abs(u)) * signNotZero(v);
+			u = foldedU;
+		}
+		out[0] = u;
+		out[1] = v;
+	}
+
+	/**
+	 * Decodes an octahedral encoded normal, the inverse of
+	 * {@link #encodeOctahedral(float, float, float, float[])}.
+	 * 
+	 * @param u
+	 * @param v
+	 * @param out
+	 *            receives the normalized x, y and z components
+	 */
+	public static void decodeOctahedral(float u, float v, float[] out) {
+		float z = 1 - Math.abs(u) - Math.abs(v);
+		if (z < 0) {
+			float unfoldedU = (1 - Math.abs(v)) * signNotZero(u);
+			v = (1 - Math.abs(u)) * signNotZero(v);
+			u = unfoldedU;
+		}
+		float length = (float) Math.sqrt(u * u + v * v + z * z);
+		out[0] = u / length;
+		out[1] = v / length;
+		out[2] = z / length;
+	}
+
+	/**
+	 * Converts a float to the bits of a 16 bit half float, rounding to the
+	 * nearest representable value. Values too large for a half float become
+	 * infinity.
+	 * 
+	 * @param value
+	 * @return the half float bits in the lower 16 bits
+	 */
+	public static int toHalfFloat(float value) {
+		if (value != value) {
+			return 0x7e00;
+		}
+		int sign = 0;
+		if (value < 0 || (value == 0 && 1 / value < 0)) {
+			sign = 0x8000;
+			value = -value;
+		}
+		if (value >= 65520f) {
+			return sign | 0x7c00;
+		}
+		if (value < HALF_MIN_NORMAL) {
+			// subnormal, in units of 2^-24
+			return sign | Math.round(value * 16777216f);
+		}
+		int exponent = 15;
+		float power = 32768f;
+		while (power > value) {
+			power *= 0.5f;
+			exponent--;
+		}
+		int mantissa = Math.round((value / power - 1) * 1024);
+		if (mantissa == 1024) {
+			mantissa = 0;
+			exponent++;
+		}
+		return sign | ((exponent + 15) << 10) | mantissa;
+	}
+
+	/**
+	 * Converts the bits of a 16 bit half float to a float.
+	 * 
+	 * @param bits
+	 *            the half float bits in the lower 16 bits
+	 * @return the float value
+	 */
+	public static float fromHalfFloat(int bits) {
+		float sign = (bits & 0x8000) != 0 ? -1 : 1;
+		int exponent = (bits >> 10) & 0x1f;
+		int mantissa = bits & 0x3ff;
+		if (exponent == 0) {
+			return sign * mantissa / 16777216f;
+		}
+		if (exponent == 31) {
+			return mantissa == 0 ? sign * Float.POSITIVE_INFINITY : Float.NaN;
+		}
+		return sign * (1 + mantissa / 1024f) * (float) Math.pow(2, exponent - 15);
+	}
+
+	/**
+	 * @param value
+	 * @return the value clamped to [-1, 1] and mapped to [-128, 127], so that
+	 *         WebGL decodes it as (2c + 1) / 255
+	 */
+	public static int toSnorm8(float value) {
+		return Math.round((clamp(value, -1, 1) * 255 - 1) / 2);
+	}
+
+	/**
+	 * @param value
+	 * @return the value clamped to [0, 1] and scaled to [0, 255]
+	 */
+	public static int toUnorm8(float value) {
+		return Math.round(clamp(value, 0, 1) * 255);
+	}
+
+	/**
+	 * @param value
+	 * @return the value clamped to [-1, 1] and mapped to [-32768, 32767], so
+	 *         that WebGL decodes it as (2c + 1) / 65535
+	 */
+	public static int toSnorm16(float value) {
+		return Math.round((clamp(value, -1, 1) * 65535 - 1) / 2);
+	}
+
+	/**
+	 * @param value
+	 * @return the value clamped to [0, 1] and scaled to [0, 65535]
+	 */
+	public static int toUnorm16(float value) {
+		return Math.round(clamp(value, 0, 1) * 65535);
+	}
+
+	private static float clamp(float value, float min, float max) {
+		return value < min ? min : (value > max ? max : value);
+	}
+
+	private static float signNotZero(float value) {
+		return value < 0 ? -1 : 1;
+	}
+}
@@ -15,9 +15,17 @@
  */
 package com.googlecode.gwtgl.wrapper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.gwt.typedarrays.client.Float32Array;
+import com.googlecode.gwtgl.binding.CommandList;
+import com.googlecode.gwtgl.binding.WebGLBuffer;
+import com.googlecode.gwtgl.binding.WebGLProgram;
 import com.googlecode.gwtgl.binding.WebGLRenderingContext;
+import com.googlecode.gwtgl.binding.WebGLTexture;
 import com.googlecode.gwtgl.binding.WebGLUniformLocation;
+import com.googlecode.gwtgl.wrapper.enums.BufferTarget;
 import com.googlecode.gwtgl.wrapper.enums.ClearFlag;
 import com.googlecode.gwtgl.wrapper.enums.DataType;
 import com.googlecode.gwtgl.wrapper.enums.DepthComparisonFunction;
@@ -45,7 +53,52 @@ import com.googlecode.gwtgl.wrapper.enums.TextureWrapMode;
  */
 public class WebGLWrapper {
 	
+	/**
+	 * The parameters of the last vertexAttribPointer call for one attribute index.
+	 */
+	private static class VertexAttribPointerState {
+		private WebGLBuffer buffer;
+		private int size;
+		private DataType type;
+		private boolean normalized;
+		private int stride;
+		private int offset;
+		
+		private boolean matches(WebGLBuffer buffer, int size, DataType type,
+				boolean normalized, int stride, int offset) {
+			return this.buffer == buffer && this.size == size
+					&& this.type == type && this.normalized == normalized
+					&& this.stride == stride && this.offset == offset;
+		}
+	}
+	
 	final WebGLRenderingContext glContext;
+	
+	/**
+	 * Scratch arrays for single matrix uploads, indexed by the rank of the matrix.
+	 */
+	private final Float32Array[] matrixScratch = new Float32Array[5];
+
+	/**
+	 * The index {@link Buffer} that was bound last, used to determine the type of the indices for drawElements.
+	 */
+	Buffer boundIndexBuffer;
+
+	private boolean uintIndicesEnabled = false;
+
+	/*
+	 * Shadow copy of the GL state. null means that the state is unknown and
+	 * the next call has to be passed to the context.
+	 */
+	private final WebGLBuffer[] boundBuffers = new WebGLBuffer[BufferTarget.values().length];
+	private WebGLProgram currentProgram;
+	private final List<WebGLTexture> boundTextures = new ArrayList<WebGLTexture>();
+	private int activeTextureUnit = -1;
+	private final Boolean[] capabilities = new Boolean[GLCapability.values().length];
+	private DepthComparisonFunction currentDepthFunction;
+	private final List<VertexAttribPointerState> vertexAttribPointers = new ArrayList<VertexAttribPointerState>();
+	private int stateCacheHits = 0;
+	private int stateCacheMisses = 0;
 
 	/**
 	 * create wrapper for the given {@link WebGLRenderingContext}
@@ -108,6 +161,12 @@ public class WebGLWrapper {
 	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glEnable.xml"
 	 */
 	public void disable(GLCapability capability) {
+		if (Boolean.FALSE.equals(capabilities[capability.ordinal()])) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		capabilities[capability.ordinal()] = Boolean.FALSE;
 		glContext.disable(capability.getIntValue());
 	}
 
@@ -118,6 +177,12 @@ public class WebGLWrapper {
 	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glEnable.xml"
 	 */
 	public void enable(GLCapability capability) {
+		if (Boolean.TRUE.equals(capabilities[capability.ordinal()])) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		capabilities[capability.ordinal()] = Boolean.TRUE;
 		glContext.enable(capability.getIntValue());
 	}
 
@@ -153,6 +218,27 @@ public class WebGLWrapper {
 	 */
 	public void vertexAttribPointer(int index, int size, DataType type, boolean normalized,
 			int stride, int offset) {
+		WebGLBuffer buffer = boundBuffers[BufferTarget.ARRAY_BUFFER.ordinal()];
+		while (vertexAttribPointers.size() <= index) {
+			vertexAttribPointers.add(null);
+		}
+		VertexAttribPointerState state = vertexAttribPointers.get(index);
+		if (buffer != null && state != null
+				&& state.matches(buffer, size, type, normalized, stride, offset)) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		if (state == null) {
+			state = new VertexAttribPointerState();
+			vertexAttribPointers.set(index, state);
+		}
+		state.buffer = buffer;
+		state.size = size;
+		state.type = type;
+		state.normalized = normalized;
+		state.stride = stride;
+		state.offset = offset;
 		glContext.vertexAttribPointer(index, size, type.getIntValue(), normalized, stride, offset);
 	}
 
@@ -163,9 +249,192 @@ public class WebGLWrapper {
 	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glDepthFunc.xml"
 	 */
 	public void depthFunc(DepthComparisonFunction depthComparisonFunction) {
+		if (currentDepthFunction == depthComparisonFunction) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		currentDepthFunction = depthComparisonFunction;
 		glContext.depthFunc(depthComparisonFunction.getIntValue());
 	}
 
+	/**
+	 * Binds the given {@link Buffer} to its {@link BufferTarget} unless it is already bound.
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#bindBuffer(int, WebGLBuffer)}
+	 * @param buffer the buffer to bind
+	 */
+	void bindBuffer(Buffer buffer) {
+		BufferTarget target = buffer.getTarget();
+		if (target == BufferTarget.ELEMENT_ARRAY_BUFFER) {
+			boundIndexBuffer = buffer;
+		}
+		bindBuffer(target, buffer.nativeBufferObject);
+	}
+
+	/**
+	 * Binds the given {@link WebGLBuffer} to the given {@link BufferTarget} unless it is already bound.
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#bindBuffer(int, WebGLBuffer)}
+	 * @param target the target to bind the buffer to
+	 * @param buffer the buffer to bind
+	 */
+	void bindBuffer(BufferTarget target, WebGLBuffer buffer) {
+		if (boundBuffers[target.ordinal()] == buffer) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		boundBuffers[target.ordinal()] = buffer;
+		glContext.bindBuffer(target.getIntValue(), buffer);
+	}
+
+	/**
+	 * Makes the given program the current program unless it is already in use.
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#useProgram(WebGLProgram)}
+	 * @param program the program to use
+	 */
+	void useProgram(WebGLProgram program) {
+		if (currentProgram == program) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		currentProgram = program;
+		glContext.useProgram(program);
+	}
+
+	/**
+	 * Binds the given texture to the target of the active texture unit unless it is already bound.
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#bindTexture(int, WebGLTexture)}
+	 * @param target the {@link TextureTarget} to bind the texture to
+	 * @param texture the texture to bind
+	 */
+	void bindTexture(TextureTarget target, WebGLTexture texture) {
+		int slot = -1;
+		if (activeTextureUnit >= 0) {
+			slot = activeTextureUnit * TextureTarget.values().length + target.ordinal();
+			while (boundTextures.size() <= slot) {
+				boundTextures.add(null);
+			}
+			if (boundTextures.get(slot) == texture) {
+				stateCacheHits++;
+				return;
+			}
+		}
+		stateCacheMisses++;
+		if (slot >= 0) {
+			boundTextures.set(slot, texture);
+		}
+		glContext.bindTexture(target.getIntValue(), texture);
+	}
+
+	/**
+	 * Removes all references to the given buffer from the state cache, as deleting a buffer unbinds it.
+	 * @param buffer the deleted buffer
+	 */
+	void forgetBuffer(Buffer buffer) {
+		if (boundIndexBuffer == buffer) {
+			boundIndexBuffer = null;
+		}
+		forgetBuffer(buffer.nativeBufferObject);
+	}
+
+	/**
+	 * Removes all references to the given buffer object from the state cache, as deleting a buffer unbinds it.
+	 * @param buffer the deleted buffer object
+	 */
+	void forgetBuffer(WebGLBuffer buffer) {
+		for (int i = 0; i < boundBuffers.length; i++) {
+			if (boundBuffers[i] == buffer) {
+				boundBuffers[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Removes all references to the given texture from the state cache, as deleting a texture unbinds it.
+	 * @param texture the deleted texture
+	 */
+	void forgetTexture(WebGLTexture texture) {
+		for (int i = 0; i < boundTextures.size(); i++) {
+			if (boundTextures.get(i) == texture) {
+				boundTextures.set(i, null);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given program from the state cache, so that a deleted program isn't reported as current anymore.
+	 * @param program the deleted program
+	 */
+	void forgetProgram(WebGLProgram program) {
+		if (currentProgram == program) {
+			currentProgram = null;
+		}
+	}
+
+	/**
+	 * Discards the shadow copy of the GL state, so that the next binding,
+	 * capability and depth function calls are passed to the context again.
+	 * This has to be called after the {@link WebGLRenderingContext} was used
+	 * directly to change any of the cached state.
+	 */
+	public void invalidateStateCache() {
+		boundIndexBuffer = null;
+		for (int i = 0; i < boundBuffers.length; i++) {
+			boundBuffers[i] = null;
+		}
+		currentProgram = null;
+		boundTextures.clear();
+		activeTextureUnit = -1;
+		for (int i = 0; i < capabilities.length; i++) {
+			capabilities[i] = null;
+		}
+		currentDepthFunction = null;
+		vertexAttribPointers.clear();
+	}
+
+	/**
+	 * Issues all calls recorded in the given {@link CommandList}. As the recorded calls bypass the
+	 * wrapper, the state cache is invalidated afterwards. The bound index {@link Buffer} is kept if
+	 * the list does not bind an element array buffer, so {@link #drawElements(PrimitiveRenderingMode, int, int)}
+	 * can still determine the type of the indices.
+	 * @param commandList the commands to replay
+	 */
+	public void replay(CommandList commandList) {
+		commandList.replay(glContext);
+		Buffer indexBuffer = boundIndexBuffer;
+		invalidateStateCache();
+		if (!commandList.bindsElementArrayBuffer()) {
+			boundIndexBuffer = indexBuffer;
+		}
+	}
+
+	/**
+	 * Returns the number of calls that were skipped because they would not have changed the GL state.
+	 * 
+	 * @return the number of state cache hits
+	 */
+	public int getStateCacheHits() {
+		return stateCacheHits;
+	}
+
+	/**
+	 * Returns the number of calls that were passed to the {@link WebGLRenderingContext} by the state cache.
+	 * 
+	 * @return the number of state cache misses
+	 */
+	public int getStateCacheMisses() {
+		return stateCacheMisses;
+	}
+
+	/**
+	 * Resets the state cache hit and miss counters to 0.
+	 */
+	public void resetStateCacheCounters() {
+		stateCacheHits = 0;
+		stateCacheMisses = 0;
+	}
+
 	/**
 	 * Render primitives from array data
 	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#drawArrays(int, int, int)}
@@ -184,40 +453,259 @@ public class WebGLWrapper {
 	 * @param primitiveRenderingMode Specifies what kind of primitives to render.
 	 * @param count Number of elements to be rendered
 	 * @param offset Offset.
+	 * @throws IllegalStateException if the type of the indices at the offset is not known, because no
+	 *             index {@link Buffer} was bound through this wrapper or it has no data at the offset
 	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glDrawElements.xml"
 	 */
 	public void drawElements(PrimitiveRenderingMode primitiveRenderingMode, int count, int offset) {
-		glContext.drawElements(primitiveRenderingMode.getIntValue(), count, WebGLRenderingContext.UNSIGNED_BYTE, offset);
+		DataType indexType = null;
+		if (boundIndexBuffer != null) {
+			indexType = boundIndexBuffer.getDataTypeAt(offset);
+		}
+		if (indexType == null) {
+			throw new IllegalStateException("The type of the indices at offset " + offset
+					+ " is not known. Bind the index Buffer or pass the index type to drawElements.");
+		}
+		drawElements(primitiveRenderingMode, count, indexType, offset);
+	}
+
+	/**
+	 * Render primitives using the currently bound index array with the given type of indices.
+	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#drawElements(int, int, int, int)}
+	 * The OES_element_index_uint extension is enabled on first use of {@link DataType#UNSIGNED_INT} indices.
+	 * @param primitiveRenderingMode Specifies what kind of primitives to render.
+	 * @param count Number of elements to be rendered
+	 * @param indexType the type of the indices, one of {@link DataType#UNSIGNED_BYTE}, {@link DataType#UNSIGNED_SHORT} or {@link DataType#UNSIGNED_INT}
+	 * @param offset Offset in bytes.
+	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glDrawElements.xml"
+	 */
+	public void drawElements(PrimitiveRenderingMode primitiveRenderingMode, int count, DataType indexType, int offset) {
+		if (indexType == DataType.UNSIGNED_INT && !uintIndicesEnabled) {
+			if (glContext.getExtension("OES_element_index_uint") == null) {
+				throw new IllegalStateException(
+						"Unsigned int indices are not supported by the WebGL implementation!");
+			}
+			uintIndicesEnabled = true;
+		}
+		glContext.drawElements(primitiveRenderingMode.getIntValue(), count, indexType.getIntValue(), offset);
 	}
 
 	/**
 	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * If values contains exactly one matrix, it is copied to a reused scratch array instead of allocating a new {@link Float32Array}.
 	 * @param location Specifies the location of the uniform value to be modified
 	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
 	 * @param values Specifies an array of values that will be used to update the specified uniform variable
 	 */
 	public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, float[] values) {
-		glContext.uniformMatrix2fv(location, transpose, Float32Array.create(values));
+		glContext.uniformMatrix2fv(location, transpose, toMatrixArray(2, values));
+	}
+
+	/**
+	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 4 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, float[] values, int offset) {
+		glContext.uniformMatrix2fv(location, transpose, copyToMatrixScratch(2, values, offset));
+	}
+
+	/**
+	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The given array is passed through without copying.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array of values that will be used to update the specified uniform variable
+	 */
+	public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array values) {
+		glContext.uniformMatrix2fv(location, transpose, values);
+	}
+
+	/**
+	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 4 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array values, int offset) {
+		glContext.uniformMatrix2fv(location, transpose, copyToMatrixScratch(2, values, offset));
+	}
+
+	/**
+	 * Wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 4 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, FloatArray values, int offset) {
+		uniformMatrix2fv(location, transpose, values.getNativeArray(), offset);
 	}
 
 	/**
 	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * If values contains exactly one matrix, it is copied to a reused scratch array instead of allocating a new {@link Float32Array}.
 	 * @param location Specifies the location of the uniform value to be modified
 	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
 	 * @param values Specifies an array of values that will be used to update the specified uniform variable
 	 */
 	public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, float[] values) {
-		glContext.uniformMatrix3fv(location, transpose, Float32Array.create(values));
+		glContext.uniformMatrix3fv(location, transpose, toMatrixArray(3, values));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 9 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, float[] values, int offset) {
+		glContext.uniformMatrix3fv(location, transpose, copyToMatrixScratch(3, values, offset));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The given array is passed through without copying.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array of values that will be used to update the specified uniform variable
+	 */
+	public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array values) {
+		glContext.uniformMatrix3fv(location, transpose, values);
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 9 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array values, int offset) {
+		glContext.uniformMatrix3fv(location, transpose, copyToMatrixScratch(3, values, offset));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 9 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, FloatArray values, int offset) {
+		uniformMatrix3fv(location, transpose, values.getNativeArray(), offset);
 	}
 
 	/**
 	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * If values contains exactly one matrix, it is copied to a reused scratch array instead of allocating a new {@link Float32Array}.
 	 * @param location Specifies the location of the uniform value to be modified
 	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
 	 * @param values Specifies an array of values that will be used to update the specified uniform variable
 	 */
 	public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, float[] values) {
-		glContext.uniformMatrix4fv(location, transpose, Float32Array.create(values));
+		glContext.uniformMatrix4fv(location, transpose, toMatrixArray(4, values));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 16 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, float[] values, int offset) {
+		glContext.uniformMatrix4fv(location, transpose, copyToMatrixScratch(4, values, offset));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The given array is passed through without copying.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array of values that will be used to update the specified uniform variable
+	 */
+	public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array values) {
+		glContext.uniformMatrix4fv(location, transpose, values);
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 16 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array values, int offset) {
+		glContext.uniformMatrix4fv(location, transpose, copyToMatrixScratch(4, values, offset));
+	}
+
+	/**
+	 * wrapps {@link com.googlecode.gwtgl.binding.WebGLRenderingContext#uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value)}
+	 * The 16 values starting at offset are copied to a reused scratch array, so no allocation takes place.
+	 * @param location Specifies the location of the uniform value to be modified
+	 * @param transpose Specifies whether to transpose the matrix as the values are loaded into the uniform variable
+	 * @param values Specifies an array containing the values that will be used to update the specified uniform variable
+	 * @param offset the index of the first matrix value in values
+	 */
+	public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, FloatArray values, int offset) {
+		uniformMatrix4fv(location, transpose, values.getNativeArray(), offset);
+	}
+
+	/**
+	 * Returns the scratch array for matrices of the given rank. The array is created on first use
+	 * and reused for all following uploads of that rank.
+	 * 
+	 * @param rank 2, 3 or 4
+	 * @return the scratch array holding rank*rank values
+	 */
+	private Float32Array getMatrixScratch(int rank) {
+		Float32Array scratch = matrixScratch[rank];
+		if (scratch == null) {
+			scratch = Float32Array.create(rank * rank);
+			matrixScratch[rank] = scratch;
+		}
+		return scratch;
+	}
+
+	private Float32Array toMatrixArray(int rank, float[] values) {
+		if (values.length != rank * rank) {
+			// an array of matrices is uploaded, which doesn't fit into the scratch array
+			return Float32Array.create(values);
+		}
+		Float32Array scratch = getMatrixScratch(rank);
+		scratch.set(values);
+		return scratch;
+	}
+
+	private Float32Array copyToMatrixScratch(int rank, float[] values, int offset) {
+		Float32Array scratch = getMatrixScratch(rank);
+		int length = rank * rank;
+		for (int i = 0; i < length; i++) {
+			scratch.set(i, values[offset + i]);
+		}
+		return scratch;
+	}
+
+	private Float32Array copyToMatrixScratch(int rank, Float32Array values, int offset) {
+		Float32Array scratch = getMatrixScratch(rank);
+		int length = rank * rank;
+		for (int i = 0; i < length; i++) {
+			scratch.set(i, values.get(offset + i));
+		}
+		return scratch;
 	}
 
 	/**
@@ -227,6 +715,12 @@ public class WebGLWrapper {
 	 * @see "http://www.khronos.org/opengles/sdk/docs/man/glActiveTexture.xml"
 	 */
 	public void activeTexture(int textureUnit) {
+		if (activeTextureUnit == textureUnit) {
+			stateCacheHits++;
+			return;
+		}
+		stateCacheMisses++;
+		activeTextureUnit = textureUnit;
 		glContext.activeTexture(WebGLRenderingContext.TEXTURE0+textureUnit);
 	}
 
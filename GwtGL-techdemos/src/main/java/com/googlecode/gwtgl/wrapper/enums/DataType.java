@@ -28,42 +28,53 @@ public enum DataType implements IWebGLConstEnum {
 	/**
 	 * Value to identify DataType BYTE.
 	 */
-	BYTE(WebGLRenderingContext.BYTE),
+	BYTE(WebGLRenderingContext.BYTE, 1),
 	/**
 	 * Value to identify DataType UNSIGNED_BYTE.
 	 */
-	UNSIGNED_BYTE(WebGLRenderingContext.UNSIGNED_BYTE),
+	UNSIGNED_BYTE(WebGLRenderingContext.UNSIGNED_BYTE, 1),
 	/**
 	 * Value to identify DataType SHORT.
 	 */
-	SHORT(WebGLRenderingContext.SHORT),
+	SHORT(WebGLRenderingContext.SHORT, 2),
 	/**
 	 * Value to identify DataType UNSIGNED_SHORT.
 	 */
-	UNSIGNED_SHORT(WebGLRenderingContext.UNSIGNED_SHORT),
+	UNSIGNED_SHORT(WebGLRenderingContext.UNSIGNED_SHORT, 2),
 	/**
 	 * Value to identify DataType INT.
 	 */
-	INT(WebGLRenderingContext.INT),
+	INT(WebGLRenderingContext.INT, 4),
 	/**
 	 * Value to identify DataType UNSIGNED_INT.
 	 */
-	UNSIGNED_INT(WebGLRenderingContext.UNSIGNED_INT),
+	UNSIGNED_INT(WebGLRenderingContext.UNSIGNED_INT, 4),
 	/**
 	 * Value to identify DataType FLOAT.
 	 */
-	FLOAT(WebGLRenderingContext.FLOAT);
+	FLOAT(WebGLRenderingContext.FLOAT, 4);
 
 	private final int value;
+	private final int byteSize;
 
-	DataType(int value) {
+	DataType(int value, int byteSize) {
 		this.value = value;
+		this.byteSize = byteSize;
 	}
 
 	public int getIntValue() {
 		return value;
 	}
 
+	/**
+	 * Returns the number of bytes needed to store one value of this type.
+	 * 
+	 * @return the size of one value in bytes
+	 */
+	public int getByteSize() {
+		return byteSize;
+	}
+
 	/**
 	 * Returns the matching enum value for the given int value.
 	 * 
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+/**
+ * A bump allocator that carves {@link TypedArray} views out of one {@link ArrayBuffer}. Every view
+ * is aligned to the size of its values and placed directly behind the previous allocation, so all
+ * views of the arena are contiguous and can be uploaded at once using {@link #getUsedView()}.
+ *
+ * Single views can't be freed. {@link #reset()} frees all of them at once, e.g. at the end of a
+ * frame or after an asset was loaded. Views allocated before a reset must not be used afterwards as
+ * they share memory with the views allocated later.
+ */
+public class ArrayBufferArena {
+
+  private final ArrayBuffer buffer;
+
+  private int position = 0;
+
+  /**
+   * Creates an arena with the given capacity in bytes.
+   *
+   * @param capacity the size of the underlying {@link ArrayBuffer} in bytes
+   */
+  public ArrayBufferArena(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+    }
+    this.buffer = ArrayBuffer.create(capacity);
+  }
+
+  /**
+   * Reserves the given number of bytes at the next offset that is a multiple of the given
+   * alignment.
+   *
+   * @param byteLength the number of bytes to reserve
+   * @param alignment the alignment of the offset in bytes, has to be a power of two
+   * @return the offset of the reserved bytes relative to the beginning of the {@link ArrayBuffer}
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public int allocate(int byteLength, int alignment) {
+    if (byteLength < 0) {
+      throw new IllegalArgumentException("byteLength must not be negative: " + byteLength);
+    }
+    if (alignment <= 0 || (alignment & (alignment - 1)) != 0) {
+      throw new IllegalArgumentException("alignment must be a power of two: " + alignment);
+    }
+    int offset = (position + alignment - 1) & -alignment;
+    if (offset + byteLength > getCapacity()) {
+      throw new IllegalStateException("Can't allocate " + byteLength + " bytes, only "
+          + (getCapacity() - offset) + " bytes left in the arena");
+    }
+    position = offset + byteLength;
+    return offset;
+  }
+
+  /**
+   * Allocates a {@link Float32Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Float32Array allocateFloat32Array(int length) {
+    int offset = allocate(length * Float32Array.BYTES_PER_ELEMENT, Float32Array.BYTES_PER_ELEMENT);
+    return Float32Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates a {@link Float64Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Float64Array allocateFloat64Array(int length) {
+    int offset = allocate(length * Float64Array.BYTES_PER_ELEMENT, Float64Array.BYTES_PER_ELEMENT);
+    return Float64Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Int8Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Int8Array allocateInt8Array(int length) {
+    int offset = allocate(length * Int8Array.BYTES_PER_ELEMENT, Int8Array.BYTES_PER_ELEMENT);
+    return Int8Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Int16Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Int16Array allocateInt16Array(int length) {
+    int offset = allocate(length * Int16Array.BYTES_PER_ELEMENT, Int16Array.BYTES_PER_ELEMENT);
+    return Int16Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Int32Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Int32Array allocateInt32Array(int length) {
+    int offset = allocate(length * Int32Array.BYTES_PER_ELEMENT, Int32Array.BYTES_PER_ELEMENT);
+    return Int32Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Uint8Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Uint8Array allocateUint8Array(int length) {
+    int offset = allocate(length * Uint8Array.BYTES_PER_ELEMENT, Uint8Array.BYTES_PER_ELEMENT);
+    return Uint8Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Uint16Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Uint16Array allocateUint16Array(int length) {
+    int offset = allocate(length * Uint16Array.BYTES_PER_ELEMENT, Uint16Array.BYTES_PER_ELEMENT);
+    return Uint16Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Allocates an {@link Uint32Array} of the given length from the arena.
+   *
+   * @param length the length in values
+   * @return the created view
+   * @throws IllegalStateException if the remaining space of the arena is too small
+   */
+  public Uint32Array allocateUint32Array(int length) {
+    int offset = allocate(length * Uint32Array.BYTES_PER_ELEMENT, Uint32Array.BYTES_PER_ELEMENT);
+    return Uint32Array.create(buffer, offset, length);
+  }
+
+  /**
+   * Frees all allocations of the arena. The memory isn't cleared.
+   */
+  public void reset() {
+    position = 0;
+  }
+
+  /**
+   * Returns the underlying {@link ArrayBuffer} of all views allocated from the arena.
+   *
+   * @return the underlying {@link ArrayBuffer}
+   */
+  public ArrayBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns a view of all bytes that are allocated from the arena.
+   *
+   * @return a view from the beginning of the buffer to the end of the last allocation
+   */
+  public Uint8Array getUsedView() {
+    return Uint8Array.create(buffer, 0, position);
+  }
+
+  /**
+   * Returns the size of the arena in bytes.
+   *
+   * @return the capacity in bytes
+   */
+  public int getCapacity() {
+    return buffer.getByteLength();
+  }
+
+  /**
+   * Returns the number of bytes used by allocations including the padding for their alignment.
+   *
+   * @return the number of used bytes
+   */
+  public int getUsedBytes() {
+    return position;
+  }
+
+  /**
+   * Returns the number of bytes behind the last allocation.
+   *
+   * @return the number of remaining bytes
+   */
+  public int getRemainingBytes() {
+    return getCapacity() - position;
+  }
+}
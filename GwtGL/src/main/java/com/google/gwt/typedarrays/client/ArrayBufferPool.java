@@ -0,0 +1,270 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pool of {@link ArrayBuffer}s to reuse buffers for transient data instead of allocating new ones.
+ * The buffers are grouped in size classes of powers of two. {@link #acquire(int)} returns a buffer
+ * of the smallest size class that is able to hold the requested number of bytes, so the returned
+ * buffer may be larger than requested. The typed acquire methods return views of exactly the
+ * requested length.
+ *
+ * Buffers have to be given back by {@link #release(ArrayBuffer)} or
+ * {@link #release(ArrayBufferView)} when they aren't used anymore. A buffer must not be used after
+ * it was released and must not be released twice. The content of an acquired buffer is undefined.
+ */
+public class ArrayBufferPool {
+
+  /**
+   * The smallest size class in bytes.
+   */
+  public static final int MIN_SIZE = 16;
+
+  private static final int MIN_SIZE_CLASS = 4;
+
+  private static final int MAX_SIZE_CLASS = 30;
+
+  private static final int NUM_SIZE_CLASSES = MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1;
+
+  private final List<List<ArrayBuffer>> freeLists = new ArrayList<List<ArrayBuffer>>();
+
+  private int maxRetainedBytes;
+
+  private long retainedBytes = 0;
+
+  private int hits = 0;
+
+  private int misses = 0;
+
+  /**
+   * Creates a pool that retains all released buffers.
+   */
+  public ArrayBufferPool() {
+    this(0);
+  }
+
+  /**
+   * Creates a pool that retains at most the given number of bytes in released buffers.
+   *
+   * @param maxRetainedBytes the high-water mark in bytes, 0 to retain all released buffers
+   */
+  public ArrayBufferPool(int maxRetainedBytes) {
+    for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+      freeLists.add(new ArrayList<ArrayBuffer>());
+    }
+    setMaxRetainedBytes(maxRetainedBytes);
+  }
+
+  /**
+   * Returns an {@link ArrayBuffer} with at least the given length in bytes. The buffer is taken from
+   * the pool if one of the matching size class is available, otherwise a new one is created.
+   *
+   * @param byteLength the minimum length of the buffer in bytes
+   * @return the buffer or null if {@link ArrayBuffer}s aren't supported by the browser
+   */
+  public ArrayBuffer acquire(int byteLength) {
+    int sizeClass = getSizeClass(byteLength);
+    List<ArrayBuffer> freeList = freeLists.get(sizeClass - MIN_SIZE_CLASS);
+    if (!freeList.isEmpty()) {
+      hits++;
+      ArrayBuffer buffer = freeList.remove(freeList.size() - 1);
+      retainedBytes -= buffer.getByteLength();
+      return buffer;
+    }
+    misses++;
+    return ArrayBuffer.create(1 << sizeClass);
+  }
+
+  /**
+   * Returns a {@link Float32Array} of the given length backed by a pooled buffer.
+   *
+   * @param length the length in values
+   * @return the created view or null if {@link TypedArray}s aren't supported by the browser
+   */
+  public Float32Array acquireFloat32Array(int length) {
+    ArrayBuffer buffer = acquire(length * Float32Array.BYTES_PER_ELEMENT);
+    return buffer == null ? null : Float32Array.create(buffer, 0, length);
+  }
+
+  /**
+   * Returns an {@link Int32Array} of the given length backed by a pooled buffer.
+   *
+   * @param length the length in values
+   * @return the created view or null if {@link TypedArray}s aren't supported by the browser
+   */
+  public Int32Array acquireInt32Array(int length) {
+    ArrayBuffer buffer = acquire(length * Int32Array.BYTES_PER_ELEMENT);
+    return buffer == null ? null : Int32Array.create(buffer, 0, length);
+  }
+
+  /**
+   * Returns an {@link Uint16Array} of the given length backed by a pooled buffer.
+   *
+   * @param length the length in values
+   * @return the created view or null if {@link TypedArray}s aren't supported by the browser
+   */
+  public Uint16Array acquireUint16Array(int length) {
+    ArrayBuffer buffer = acquire(length * Uint16Array.BYTES_PER_ELEMENT);
+    return buffer == null ? null : Uint16Array.create(buffer, 0, length);
+  }
+
+  /**
+   * Returns an {@link Uint8Array} of the given length backed by a pooled buffer.
+   *
+   * @param length the length in values
+   * @return the created view or null if {@link TypedArray}s aren't supported by the browser
+   */
+  public Uint8Array acquireUint8Array(int length) {
+    ArrayBuffer buffer = acquire(length * Uint8Array.BYTES_PER_ELEMENT);
+    return buffer == null ? null : Uint8Array.create(buffer, 0, length);
+  }
+
+  /**
+   * Gives the given buffer back to the pool. Buffers whose length isn't one of the size classes of
+   * the pool are ignored. If the retained bytes exceed the high-water mark, the pool is trimmed.
+   *
+   * @param buffer the buffer to release
+   */
+  public void release(ArrayBuffer buffer) {
+    if (buffer == null) {
+      return;
+    }
+    int byteLength = buffer.getByteLength();
+    if (byteLength < MIN_SIZE || (byteLength & (byteLength - 1)) != 0) {
+      return;
+    }
+    freeLists.get(getSizeClass(byteLength) - MIN_SIZE_CLASS).add(buffer);
+    retainedBytes += byteLength;
+    if (maxRetainedBytes > 0 && retainedBytes > maxRetainedBytes) {
+      trim(maxRetainedBytes);
+    }
+  }
+
+  /**
+   * Gives the buffer of the given view back to the pool. Other views of the same buffer must not be
+   * used afterwards.
+   *
+   * @param view the view whose buffer should be released
+   */
+  public void release(ArrayBufferView view) {
+    if (view != null) {
+      release(view.getBuffer());
+    }
+  }
+
+  /**
+   * Drops released buffers, beginning with the largest ones, until at most the given number of bytes
+   * is retained.
+   *
+   * @param maxBytes the number of bytes that may be retained
+   */
+  public void trim(long maxBytes) {
+    for (int i = freeLists.size() - 1; i >= 0 && retainedBytes > maxBytes; i--) {
+      List<ArrayBuffer> freeList = freeLists.get(i);
+      while (!freeList.isEmpty() && retainedBytes > maxBytes) {
+        retainedBytes -= freeList.remove(freeList.size() - 1).getByteLength();
+      }
+    }
+  }
+
+  /**
+   * Drops all released buffers.
+   */
+  public void clear() {
+    trim(0);
+  }
+
+  /**
+   * Returns the high-water mark of the pool.
+   *
+   * @return the maximum number of bytes retained in released buffers, 0 if unlimited
+   */
+  public int getMaxRetainedBytes() {
+    return maxRetainedBytes;
+  }
+
+  /**
+   * Sets the high-water mark of the pool and trims it if necessary.
+   *
+   * @param maxRetainedBytes the maximum number of bytes retained in released buffers, 0 if unlimited
+   */
+  public void setMaxRetainedBytes(int maxRetainedBytes) {
+    if (maxRetainedBytes < 0) {
+      throw new IllegalArgumentException("maxRetainedBytes must not be negative: "
+          + maxRetainedBytes);
+    }
+    this.maxRetainedBytes = maxRetainedBytes;
+    if (maxRetainedBytes > 0) {
+      trim(maxRetainedBytes);
+    }
+  }
+
+  /**
+   * Returns the number of bytes retained in released buffers.
+   *
+   * @return the number of retained bytes
+   */
+  public long getRetainedBytes() {
+    return retainedBytes;
+  }
+
+  /**
+   * Returns the number of acquisitions that were served by a released buffer.
+   *
+   * @return the number of hits
+   */
+  public int getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of acquisitions that needed a new buffer.
+   *
+   * @return the number of misses
+   */
+  public int getMisses() {
+    return misses;
+  }
+
+  /**
+   * Resets the hit and miss counters.
+   */
+  public void resetStatistics() {
+    hits = 0;
+    misses = 0;
+  }
+
+  /**
+   * Calculates the exponent of the smallest power of two that is at least the given length.
+   *
+   * @param byteLength the length in bytes
+   * @return the size class
+   */
+  static int getSizeClass(int byteLength) {
+    if (byteLength < 0) {
+      throw new IllegalArgumentException("byteLength must not be negative: " + byteLength);
+    }
+    if (byteLength > 1 << MAX_SIZE_CLASS) {
+      throw new IllegalArgumentException("byteLength is too large: " + byteLength);
+    }
+    int sizeClass = MIN_SIZE_CLASS;
+    while ((1 << sizeClass) < byteLength) {
+      sizeClass++;
+    }
+    return sizeClass;
+  }
+}
@@ -13,6 +13,7 @@
  */
 package com.google.gwt.typedarrays.client;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArrayNumber;
 
 /**
@@ -95,7 +96,11 @@ public class Float32Array extends TypedArray<Float32Array> {
    * @return the created {@link Float32Array} or null if it isn't supported by the browser.
    */
   public static Float32Array create(float[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Float32Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
@@ -256,7 +261,7 @@ public class Float32Array extends TypedArray<Float32Array> {
    * @param array an array containing the new values to set.
    */
   public final void set(float[] array) {
-    set(JsArrayUtil.wrapArray(array));
+    set(array, 0, array.length, 0);
   }
 
   /**
@@ -267,8 +272,30 @@ public class Float32Array extends TypedArray<Float32Array> {
    * @param offset the offset relative to the beginning of the TypedArray.
    */
   public final void set(float[] array, int offset) {
-    set(JsArrayUtil.wrapArray(array), offset);
-  };
+    set(array, 0, array.length, offset);
+  }
+
+  /**
+   * Writes length values of the given array beginning at srcOffset to the TypedArray beginning at
+   * the given offset. In production mode the values are copied directly from the Java array without
+   * creating an intermediate JavaScript array.
+   * 
+   * @param array an array containing the new values to set.
+   * @param srcOffset the index of the first value to copy from the given array.
+   * @param length the number of values to copy.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   * @throws IndexOutOfBoundsException if the range is outside of one of the arrays
+   */
+  public final void set(float[] array, int srcOffset, int length, int offset) {
+    checkCopyRange(array.length, srcOffset, length, offset);
+    if (GWT.isScript()) {
+      setForProdMode(array, srcOffset, length, offset);
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      set(offset + i, array[srcOffset + i]);
+    }
+  }
 
   /**
    * Writes the given value at the given index. The index is based on the value length of the type
@@ -304,4 +331,17 @@ public class Float32Array extends TypedArray<Float32Array> {
 		this.set(array, offset);
   }-*/;
 
+  /**
+   * Implementation of the bulk copy for production mode where Java arrays are JavaScript arrays.
+   */
+  private native void setForProdMode(float[] array, int srcOffset, int length, int offset) /*-{
+		if (srcOffset == 0 && length == array.length) {
+			this.set(array, offset);
+		} else {
+			for ( var i = 0; i < length; i++) {
+				this[offset + i] = array[srcOffset + i];
+			}
+		}
+  }-*/;
+
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+/**
+ * A growable list of float values backed by a {@link Float32Array}.
+ */
+public class FloatList extends TypedArrayList<Float32Array> {
+
+  /**
+   * Creates an empty list with the default capacity.
+   */
+  public FloatList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty list with the given capacity.
+   * 
+   * @param capacity the initial capacity
+   */
+  public FloatList(int capacity) {
+    super(capacity);
+  }
+
+  @Override
+  protected Float32Array createArray(int capacity) {
+    return Float32Array.create(capacity);
+  }
+
+  /**
+   * Appends a value to the list.
+   * 
+   * @param value the value to add
+   */
+  public void add(float value) {
+    array.set(grow(1), value);
+  }
+
+  /**
+   * Appends two values to the list, e.g. the components of a vector.
+   * 
+   * @param x
+   * @param y
+   */
+  public void add(float x, float y) {
+    int index = grow(2);
+    array.set(index, x);
+    array.set(index + 1, y);
+  }
+
+  /**
+   * Appends three values to the list, e.g. the components of a vector.
+   * 
+   * @param x
+   * @param y
+   * @param z
+   */
+  public void add(float x, float y, float z) {
+    int index = grow(3);
+    array.set(index, x);
+    array.set(index + 1, y);
+    array.set(index + 2, z);
+  }
+
+  /**
+   * Appends values to the list.
+   * 
+   * @param values the values to add
+   */
+  public void addAll(float[] values) {
+    array.set(values, 0, values.length, grow(values.length));
+  }
+
+  /**
+   * Returns the value at the given index.
+   * 
+   * @param index the index of the value
+   * @return the value
+   */
+  public float get(int index) {
+    checkIndex(index);
+    return array.get(index);
+  }
+
+  /**
+   * Replaces the value at the given index.
+   * 
+   * @param index the index of the value
+   * @param value the new value
+   */
+  public void set(int index, float value) {
+    checkIndex(index);
+    array.set(index, value);
+  }
+
+  /**
+   * Copies the values of the list to a new Java array.
+   * 
+   * @return the values of the list
+   */
+  public float[] toArray() {
+    float[] result = new float[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = array.get(i);
+    }
+    return result;
+  }
+}
@@ -109,7 +109,11 @@ public class Int16Array extends IntBasedTypedArray<Int16Array> {
    * @return the created {@link Int16Array} or null if it isn't supported by the browser.
    */
   public static Int16Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Int16Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
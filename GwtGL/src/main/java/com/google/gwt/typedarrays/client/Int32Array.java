@@ -109,7 +109,11 @@ public class Int32Array extends IntBasedTypedArray<Int32Array> {
    * @return the created {@link Int32Array} or null if it isn't supported by the browser.
    */
   public static Int32Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Int32Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
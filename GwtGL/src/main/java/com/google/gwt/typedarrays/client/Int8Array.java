@@ -109,7 +109,11 @@ public class Int8Array extends IntBasedTypedArray<Int8Array> {
    * @return the created {@link Int8Array} or null if it isn't supported by the browser.
    */
   public static Int8Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Int8Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
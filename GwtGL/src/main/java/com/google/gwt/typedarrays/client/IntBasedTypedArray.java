@@ -13,6 +13,7 @@
  */
 package com.google.gwt.typedarrays.client;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArrayInteger;
 
 /**
@@ -66,7 +67,7 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @return the value at the given index
    */
   public final long getLong(int index) {
-    return Long.parseLong(getLongImpl(index));
+    return (long) getNumberImpl(index);
   }
 
   /**
@@ -87,7 +88,7 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param array an array containing the new values to set.
    */
   public final void set(byte[] array) {
-    set(JsArrayUtil.wrapArray(array));
+    set(array, 0, array.length, 0);
   }
 
   /**
@@ -98,7 +99,29 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param offset the offset relative to the beginning of the TypedArray.
    */
   public final void set(byte[] array, int offset) {
-    set(JsArrayUtil.wrapArray(array), offset);
+    set(array, 0, array.length, offset);
+  }
+
+  /**
+   * Writes length values of the given array beginning at srcOffset to the TypedArray beginning at
+   * the given offset. In production mode the values are copied directly from the Java array without
+   * creating an intermediate JavaScript array.
+   * 
+   * @param array an array containing the new values to set.
+   * @param srcOffset the index of the first value to copy from the given array.
+   * @param length the number of values to copy.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   * @throws IndexOutOfBoundsException if the range is outside of one of the arrays
+   */
+  public final void set(byte[] array, int srcOffset, int length, int offset) {
+    checkCopyRange(array.length, srcOffset, length, offset);
+    if (GWT.isScript()) {
+      setForProdMode(array, srcOffset, length, offset);
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      set(offset + i, array[srcOffset + i]);
+    }
   }
 
   /**
@@ -149,7 +172,7 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param value the new value to set
    */
   public final void set(int index, long value) {
-    setImpl(index, Long.toString(value));
+    setNumberImpl(index, value);
   }
 
   /**
@@ -172,8 +195,8 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param array an array containing the new values to set.
    */
   public final void set(int[] array) {
-    set(JsArrayUtil.wrapArray(array));
-  };
+    set(array, 0, array.length, 0);
+  }
 
   /**
    * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
@@ -183,7 +206,29 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param offset the offset relative to the beginning of the TypedArray.
    */
   public final void set(int[] array, int offset) {
-    set(JsArrayUtil.wrapArray(array), offset);
+    set(array, 0, array.length, offset);
+  }
+
+  /**
+   * Writes length values of the given array beginning at srcOffset to the TypedArray beginning at
+   * the given offset. In production mode the values are copied directly from the Java array without
+   * creating an intermediate JavaScript array.
+   * 
+   * @param array an array containing the new values to set.
+   * @param srcOffset the index of the first value to copy from the given array.
+   * @param length the number of values to copy.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   * @throws IndexOutOfBoundsException if the range is outside of one of the arrays
+   */
+  public final void set(int[] array, int srcOffset, int length, int offset) {
+    checkCopyRange(array.length, srcOffset, length, offset);
+    if (GWT.isScript()) {
+      setForProdMode(array, srcOffset, length, offset);
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      set(offset + i, array[srcOffset + i]);
+    }
   }
 
   /**
@@ -247,8 +292,8 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param array an array containing the new values to set.
    */
   public final void set(short[] array) {
-    set(JsArrayUtil.wrapArray(array));
-  };
+    set(array, 0, array.length, 0);
+  }
 
   /**
    * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
@@ -258,27 +303,90 @@ public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extend
    * @param offset the offset relative to the beginning of the TypedArray.
    */
   public final void set(short[] array, int offset) {
-    set(JsArrayUtil.wrapArray(array), offset);
+    set(array, 0, array.length, offset);
   }
 
   /**
-   * Implementation for getLong that returns the value as String to be later parsed as long.
+   * Writes length values of the given array beginning at srcOffset to the TypedArray beginning at
+   * the given offset. In production mode the values are copied directly from the Java array without
+   * creating an intermediate JavaScript array.
+   * 
+   * @param array an array containing the new values to set.
+   * @param srcOffset the index of the first value to copy from the given array.
+   * @param length the number of values to copy.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   * @throws IndexOutOfBoundsException if the range is outside of one of the arrays
+   */
+  public final void set(short[] array, int srcOffset, int length, int offset) {
+    checkCopyRange(array.length, srcOffset, length, offset);
+    if (GWT.isScript()) {
+      setForProdMode(array, srcOffset, length, offset);
+      return;
+    }
+    for (int i = 0; i < length; i++) {
+      set(offset + i, array[srcOffset + i]);
+    }
+  }
+
+  /**
+   * Implementation for getLong that returns the value as number to be later casted to long, as
+   * longs are emulated in GWT and can't be directly used in JSNI.
    * 
    * @param index the index relative to the beginning of the TypedArray.
    * @return the value at the given index
    */
-  private native String getLongImpl(int index) /*-{
-		return "" + this[index];
-  }-*/;;
+  private native double getNumberImpl(int index) /*-{
+		return this[index];
+  }-*/;
 
   /**
-   * Implementation for setting long values using Strings as longs are emulated in GWT and can't be
+   * Implementation for setting long values using numbers as longs are emulated in GWT and can't be
    * directly used in JSNI.
    * 
    * @param index the index to set the value at
    * @param value the value to set
    */
-  private native void setImpl(int index, String value) /*-{
-		this[index] = parseInt(value);
+  private native void setNumberImpl(int index, double value) /*-{
+		this[index] = value;
+  }-*/;
+
+  /**
+   * Implementation of the bulk copy for production mode where Java arrays are JavaScript arrays.
+   */
+  private native void setForProdMode(byte[] array, int srcOffset, int length, int offset) /*-{
+		if (srcOffset == 0 && length == array.length) {
+			this.set(array, offset);
+		} else {
+			for ( var i = 0; i < length; i++) {
+				this[offset + i] = array[srcOffset + i];
+			}
+		}
+  }-*/;
+
+  /**
+   * Implementation of the bulk copy for production mode where Java arrays are JavaScript arrays.
+   */
+  private native void setForProdMode(int[] array, int srcOffset, int length, int offset) /*-{
+		if (srcOffset == 0 && length == array.length) {
+			this.set(array, offset);
+		} else {
+			for ( var i = 0; i < length; i++) {
+				this[offset + i] = array[srcOffset + i];
+			}
+		}
+  }-*/;
+
+  /**
+   * Implementation of the bulk copy for production mode where Java arrays are JavaScript arrays.
+   */
+  private native void setForProdMode(short[] array, int srcOffset, int length, int offset) /*-{
+		if (srcOffset == 0 && length == array.length) {
+			this.set(array, offset);
+		} else {
+			for ( var i = 0; i < length; i++) {
+				this[offset + i] = array[srcOffset + i];
+			}
+		}
   }-*/;
-}
\ No newline at end of file
+
+}
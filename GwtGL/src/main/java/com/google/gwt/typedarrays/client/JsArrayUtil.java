@@ -20,8 +20,6 @@ import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsArrayNumber;
 import com.google.gwt.core.client.JsArrayString;
 
-import java.util.Arrays;
-
 /**
  * Utility class to convert Java arrays to JsArrays of matching types (and the other way around).
  * The methods take care of the scope (dev mode vs. production mode).
@@ -33,15 +31,15 @@ public final class JsArrayUtil {
    * Reads a long value from a {@link JsArrayInteger}. Pay attention: Avoid using long values in GWT
    * if possible (
    * {@link "http://code.google.com/intl/de-DE/webtoolkit/doc/latest/DevGuideCodingBasicsCompatibility.html#language"}
-   * ). This method has poor performance compared with reading int values directly from the
-   * {@link JsArrayInteger}.
+   * ). Values outside of the range of +-2^53 can't be represented exactly by the 64Bit floating point
+   * values used by JavaScript.
    * 
    * @param array the array to get the value from.
    * @param index the index to get he value from the array
    * @return the long value
    */
   public static long getLongFromJsArrayInteger(JsArrayInteger array, int index) {
-    return Long.parseLong(getStringFromJsArrayInteger(array, index));
+    return (long) getNumberFromJsArray(array, index);
   }
 
   /**
@@ -59,15 +57,102 @@ public final class JsArrayUtil {
    * Sets a long value to a JsArrayInteger. Pay attention: Avoid using long values in GWT if
    * possible (
    * {@link "http://code.google.com/intl/de-DE/webtoolkit/doc/latest/DevGuideCodingBasicsCompatibility.html#language"}
-   * ). This method has poor performance compared with writing int values directly to the
-   * {@link JsArrayInteger}.
+   * ). Values outside of the range of +-2^53 can't be represented exactly by the 64Bit floating point
+   * values used by JavaScript.
    * 
    * @param array the array to set the value
    * @param index the index to set the value at
    * @param value the value to set
    */
   public static void setLongToJsArrayInteger(JsArrayInteger array, int index, long value) {
-    setStringToJsArrayInteger(array, index, Long.toString(value));
+    setNumberToJsArray(array, index, value);
+  }
+
+  /**
+   * Writes the given long values to the given {@link Int32Array} without loss of precision. Every
+   * value is split into two 32Bit words, the low word is written first.
+   * 
+   * @param src the values to write
+   * @param srcOffset the index of the first value to write
+   * @param length the number of values to write
+   * @param dst the array to write to
+   * @param dstOffset the index in dst to write the low word of the first value to
+   */
+  public static void writeLongs(long[] src, int srcOffset, int length, Int32Array dst,
+      int dstOffset) {
+    if (srcOffset < 0 || length < 0 || srcOffset + length > src.length) {
+      throw new IndexOutOfBoundsException("Cannot write " + length + " values from index "
+          + srcOffset + " of an array of length " + src.length);
+    }
+    if (dstOffset < 0 || dstOffset + length * 2 > dst.getLength()) {
+      throw new IndexOutOfBoundsException("Cannot write " + length * 2 + " words to offset "
+          + dstOffset + " of an Int32Array of length " + dst.getLength());
+    }
+    for (int i = 0; i < length; i++) {
+      long value = src[srcOffset + i];
+      dst.set(dstOffset + i * 2, (int) value);
+      dst.set(dstOffset + i * 2 + 1, (int) (value >> 32));
+    }
+  }
+
+  /**
+   * Reads long values written by {@link #writeLongs(long[], int, int, Int32Array, int)}.
+   * 
+   * @param src the array containing the low and high words
+   * @param srcOffset the index in src of the low word of the first value
+   * @param length the number of values to read
+   * @param dst the array to write the values to
+   * @param dstOffset the index of the first value in dst
+   */
+  public static void readLongs(Int32Array src, int srcOffset, int length, long[] dst,
+      int dstOffset) {
+    if (srcOffset < 0 || length < 0 || srcOffset + length * 2 > src.getLength()) {
+      throw new IndexOutOfBoundsException("Cannot read " + length + " values from index "
+          + srcOffset + " of an Int32Array of length " + src.getLength());
+    }
+    for (int i = 0; i < length; i++) {
+      long low = src.get(srcOffset + i * 2) & 0xFFFFFFFFL;
+      long high = src.get(srcOffset + i * 2 + 1);
+      dst[dstOffset + i] = (high << 32) | low;
+    }
+  }
+
+  /**
+   * Writes the given long values to the given {@link Float64Array}. Values outside of the range of
+   * +-2^53 are rounded to the nearest representable value.
+   * 
+   * @param src the values to write
+   * @param srcOffset the index of the first value to write
+   * @param length the number of values to write
+   * @param dst the array to write to
+   * @param dstOffset the index of the first value in dst
+   */
+  public static void writeLongs(long[] src, int srcOffset, int length, Float64Array dst,
+      int dstOffset) {
+    dst.checkCopyRange(src.length, srcOffset, length, dstOffset);
+    for (int i = 0; i < length; i++) {
+      dst.set(dstOffset + i, src[srcOffset + i]);
+    }
+  }
+
+  /**
+   * Reads long values from the given {@link Float64Array}. Fractional parts are truncated.
+   * 
+   * @param src the array to read from
+   * @param srcOffset the index of the first value to read
+   * @param length the number of values to read
+   * @param dst the array to write the values to
+   * @param dstOffset the index of the first value in dst
+   */
+  public static void readLongs(Float64Array src, int srcOffset, int length, long[] dst,
+      int dstOffset) {
+    if (srcOffset < 0 || length < 0 || srcOffset + length > src.getLength()) {
+      throw new IndexOutOfBoundsException("Cannot read " + length + " values from index "
+          + srcOffset + " of a Float64Array of length " + src.getLength());
+    }
+    for (int i = 0; i < length; i++) {
+      dst[dstOffset + i] = (long) src.get(srcOffset + i);
+    }
   }
 
   /**
@@ -215,8 +300,11 @@ public final class JsArrayUtil {
    * @return the wrapped array
    */
   public static JsArrayInteger wrapArray(long[] srcArray) {
-    String arrayString = Arrays.toString(srcArray);
-    return createArrayFromString(arrayString);
+    JsArrayInteger result = JavaScriptObject.createArray().cast();
+    for (int i = 0; i < srcArray.length; i++) {
+      setNumberToJsArray(result, i, srcArray[i]);
+    }
+    return result;
   }
 
   /**
@@ -314,14 +402,27 @@ public final class JsArrayUtil {
   }-*/;
 
   /**
-   * Converts a String containing a textual array representation into a {@link JsArrayInteger}. The
-   * String must conform to the pattern explained in {@link Arrays#toString(int[])}.
+   * Reads a value of a JsArray as number. Used to convert long values as they are emulated in GWT
+   * and can't be directly used in JSNI.
    * 
-   * @param arrayString the array string to convert into a {@link JsArrayInteger}
-   * @return the created array.
+   * @param array the array to get the value from
+   * @param index the index to get the value from the array
+   * @return the value
+   */
+  private static native double getNumberFromJsArray(JavaScriptObject array, int index) /*-{
+		return array[index];
+  }-*/;
+
+  /**
+   * Writes a number to a JsArray. Used to convert long values as they are emulated in GWT and can't
+   * be directly used in JSNI.
+   * 
+   * @param array the array to set the value
+   * @param index the index to set the value at
+   * @param value the value to set
    */
-  private static native JsArrayInteger createArrayFromString(String arrayString) /*-{
-		return eval(arrayString);
+  private static native void setNumberToJsArray(JavaScriptObject array, int index, double value) /*-{
+		array[index] = value;
   }-*/;
 
   /**
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+/**
+ * A growable list of unsigned 16 bit values, e.g. vertex indices, backed by an
+ * {@link Uint16Array}. Values are truncated to 16 bits when they are set.
+ */
+public class ShortList extends TypedArrayList<Uint16Array> {
+
+  /**
+   * Creates an empty list with the default capacity.
+   */
+  public ShortList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty list with the given capacity.
+   * 
+   * @param capacity the initial capacity
+   */
+  public ShortList(int capacity) {
+    super(capacity);
+  }
+
+  @Override
+  protected Uint16Array createArray(int capacity) {
+    return Uint16Array.create(capacity);
+  }
+
+  /**
+   * Appends a value to the list.
+   * 
+   * @param value the value to add
+   */
+  public void add(int value) {
+    array.set(grow(1), value);
+  }
+
+  /**
+   * Appends two values to the list, e.g. the components of a vector.
+   * 
+   * @param a
+   * @param b
+   */
+  public void add(int a, int b) {
+    int index = grow(2);
+    array.set(index, a);
+    array.set(index + 1, b);
+  }
+
+  /**
+   * Appends three values to the list, e.g. the components of a vector.
+   * 
+   * @param a
+   * @param b
+   * @param c
+   */
+  public void add(int a, int b, int c) {
+    int index = grow(3);
+    array.set(index, a);
+    array.set(index + 1, b);
+    array.set(index + 2, c);
+  }
+
+  /**
+   * Appends values to the list.
+   * 
+   * @param values the values to add
+   */
+  public void addAll(int[] values) {
+    array.set(values, 0, values.length, grow(values.length));
+  }
+
+  /**
+   * Returns the value at the given index.
+   * 
+   * @param index the index of the value
+   * @return the value
+   */
+  public int get(int index) {
+    checkIndex(index);
+    return array.get(index);
+  }
+
+  /**
+   * Replaces the value at the given index.
+   * 
+   * @param index the index of the value
+   * @param value the new value
+   */
+  public void set(int index, int value) {
+    checkIndex(index);
+    array.set(index, value);
+  }
+
+  /**
+   * Copies the values of the list to a new Java array.
+   * 
+   * @return the values of the list
+   */
+  public int[] toArray() {
+    int[] result = new int[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = array.get(i);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+import com.google.gwt.core.client.GWT;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the layout of packed records, e.g. interleaved vertices, inside of an
+ * {@link ArrayBuffer} and reads and writes whole records through a {@link DataView}. Each field
+ * consists of a number of components of one {@link Type}. The offset of every field is aligned to
+ * the size of its type and the stride is aligned to the largest type used.
+ * 
+ * The components of a record are exchanged as float[] in the order the fields were added. In
+ * production mode a whole range of records is converted by a single native loop instead of one
+ * {@link DataView} call per component.
+ * 
+ * The layout can't be changed after the first record was read or written.
+ */
+public class StructLayout {
+
+  /**
+   * The types of the components of a field.
+   */
+  public enum Type {
+    /**
+     * signed 8 bit integer.
+     */
+    INT8(1),
+    /**
+     * unsigned 8 bit integer.
+     */
+    UINT8(1),
+    /**
+     * signed 16 bit integer.
+     */
+    INT16(2),
+    /**
+     * unsigned 16 bit integer.
+     */
+    UINT16(2),
+    /**
+     * signed 32 bit integer.
+     */
+    INT32(4),
+    /**
+     * unsigned 32 bit integer.
+     */
+    UINT32(4),
+    /**
+     * 32 bit floating point value.
+     */
+    FLOAT32(4),
+    /**
+     * 64 bit floating point value.
+     */
+    FLOAT64(8);
+
+    private final int byteSize;
+
+    private Type(int byteSize) {
+      this.byteSize = byteSize;
+    }
+
+    /**
+     * Returns the size of one component in bytes.
+     * 
+     * @return the size in bytes
+     */
+    public int getByteSize() {
+      return byteSize;
+    }
+  }
+
+  /**
+   * A named field of a {@link StructLayout}.
+   */
+  public static class Field {
+    private final String name;
+    private final Type type;
+    private final int count;
+    private final int offset;
+    private final int componentIndex;
+
+    private Field(String name, Type type, int count, int offset, int componentIndex) {
+      this.name = name;
+      this.type = type;
+      this.count = count;
+      this.offset = offset;
+      this.componentIndex = componentIndex;
+    }
+
+    /**
+     * @return the name of the field
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the type of the components
+     */
+    public Type getType() {
+      return type;
+    }
+
+    /**
+     * @return the number of components
+     */
+    public int getCount() {
+      return count;
+    }
+
+    /**
+     * @return the byte offset of the field inside of a record
+     */
+    public int getOffset() {
+      return offset;
+    }
+
+    /**
+     * @return the index of the first component of the field inside of a record's float[]
+     */
+    public int getComponentIndex() {
+      return componentIndex;
+    }
+  }
+
+  private final List<Field> fields = new ArrayList<Field>();
+
+  private final boolean littleEndian;
+
+  private int size = 0;
+
+  private int alignment = 1;
+
+  private int componentCount = 0;
+
+  private int[] componentTypes;
+
+  private int[] componentOffsets;
+
+  /**
+   * Creates an empty layout that stores the values in little endian byte order.
+   */
+  public StructLayout() {
+    this(true);
+  }
+
+  /**
+   * Creates an empty layout.
+   * 
+   * @param littleEndian flag, if the values are stored as little endian.
+   */
+  public StructLayout(boolean littleEndian) {
+    this.littleEndian = littleEndian;
+  }
+
+  /**
+   * Adds a field to the layout.
+   * 
+   * @param name the name of the field
+   * @param type the type of the components
+   * @param count the number of components
+   * @return this layout
+   */
+  public StructLayout add(String name, Type type, int count) {
+    if (componentTypes != null) {
+      throw new IllegalStateException("The layout is already in use and can't be changed");
+    }
+    if (count < 1) {
+      throw new IllegalArgumentException("count must be positive: " + count);
+    }
+    if (getField(name) != null) {
+      throw new IllegalArgumentException("A field with name " + name + " already exists");
+    }
+    int offset = align(size, type.getByteSize());
+    fields.add(new Field(name, type, count, offset, componentCount));
+    size = offset + count * type.getByteSize();
+    alignment = Math.max(alignment, type.getByteSize());
+    componentCount += count;
+    return this;
+  }
+
+  /**
+   * Returns the field with the given name.
+   * 
+   * @param name the name of the field
+   * @return the field or null if there is none with the given name
+   */
+  public Field getField(String name) {
+    for (Field field : fields) {
+      if (field.name.equals(name)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the fields in the order they were added.
+   * 
+   * @return the fields of the layout
+   */
+  public List<Field> getFields() {
+    return new ArrayList<Field>(fields);
+  }
+
+  /**
+   * Returns the number of bytes between the starts of two consecutive records.
+   * 
+   * @return the stride in bytes
+   */
+  public int getStride() {
+    return align(size, alignment);
+  }
+
+  /**
+   * Returns the number of components of one record.
+   * 
+   * @return the number of components
+   */
+  public int getComponentCount() {
+    return componentCount;
+  }
+
+  /**
+   * Reads the record with the given index.
+   * 
+   * @param view the view to read from
+   * @param index the index of the record
+   * @param out the array to write the components to, beginning at index 0
+   */
+  public void readRecord(DataView view, int index, float[] out) {
+    readRecords(view, index, 1, out);
+  }
+
+  /**
+   * Reads count consecutive records beginning at the given index. The components of the records
+   * are written one after another to out.
+   * 
+   * @param view the view to read from
+   * @param index the index of the first record
+   * @param count the number of records
+   * @param out the array to write the components to, beginning at index 0
+   */
+  public void readRecords(DataView view, int index, int count, float[] out) {
+    checkRange(view, index, count, out.length);
+    int byteOffset = index * getStride();
+    if (GWT.isScript()) {
+      readForProdMode(view, componentTypes, componentOffsets, byteOffset, getStride(), count, out,
+          littleEndian);
+      return;
+    }
+    int o = 0;
+    for (int r = 0; r < count; r++) {
+      int base = byteOffset + r * getStride();
+      for (int i = 0; i < componentCount; i++) {
+        out[o++] = (float) read(view, componentTypes[i], base + componentOffsets[i]);
+      }
+    }
+  }
+
+  /**
+   * Writes the record with the given index.
+   * 
+   * @param view the view to write to
+   * @param index the index of the record
+   * @param values the components of the record, beginning at index 0
+   */
+  public void writeRecord(DataView view, int index, float[] values) {
+    writeRecords(view, index, 1, values);
+  }
+
+  /**
+   * Writes count consecutive records beginning at the given index. The components of the records
+   * are read one after another from values. Values of integer components are truncated.
+   * 
+   * @param view the view to write to
+   * @param index the index of the first record
+   * @param count the number of records
+   * @param values the components of the records, beginning at index 0
+   */
+  public void writeRecords(DataView view, int index, int count, float[] values) {
+    checkRange(view, index, count, values.length);
+    int byteOffset = index * getStride();
+    if (GWT.isScript()) {
+      writeForProdMode(view, componentTypes, componentOffsets, byteOffset, getStride(), count,
+          values, littleEndian);
+      return;
+    }
+    int v = 0;
+    for (int r = 0; r < count; r++) {
+      int base = byteOffset + r * getStride();
+      for (int i = 0; i < componentCount; i++) {
+        write(view, componentTypes[i], base + componentOffsets[i], values[v++]);
+      }
+    }
+  }
+
+  private void checkRange(DataView view, int index, int count, int arrayLength) {
+    compile();
+    if (index < 0 || count < 0 || (index + count) * getStride() > view.getByteLength()) {
+      throw new IndexOutOfBoundsException("Records " + index + " to " + (index + count)
+          + " are out of the bounds of the DataView");
+    }
+    if (count * componentCount > arrayLength) {
+      throw new IndexOutOfBoundsException("The array is too small for " + count + " records");
+    }
+  }
+
+  /**
+   * Creates the per component type and offset tables used by the read and write loops.
+   */
+  private void compile() {
+    if (componentTypes != null) {
+      return;
+    }
+    componentTypes = new int[componentCount];
+    componentOffsets = new int[componentCount];
+    int i = 0;
+    for (Field field : fields) {
+      for (int c = 0; c < field.count; c++) {
+        componentTypes[i] = field.type.ordinal();
+        componentOffsets[i] = field.offset + c * field.type.getByteSize();
+        i++;
+      }
+    }
+  }
+
+  private double read(DataView view, int type, int byteOffset) {
+    switch (type) {
+      case 0:
+        return view.getInt8(byteOffset);
+      case 1:
+        return view.getUint8(byteOffset);
+      case 2:
+        return view.getInt16(byteOffset, littleEndian);
+      case 3:
+        return view.getUint16(byteOffset, littleEndian);
+      case 4:
+        return view.getInt32(byteOffset, littleEndian);
+      case 5:
+        // getUint32 returns an int, so values above Integer.MAX_VALUE would become negative
+        return view.getInt32(byteOffset, littleEndian) & 0xFFFFFFFFL;
+      case 6:
+        return view.getFloat32(byteOffset, littleEndian);
+      default:
+        return view.getFloat64(byteOffset, littleEndian);
+    }
+  }
+
+  private void write(DataView view, int type, int byteOffset, float value) {
+    switch (type) {
+      case 0:
+        view.setInt8(byteOffset, (int) value);
+        break;
+      case 1:
+        view.setUint8(byteOffset, (int) value);
+        break;
+      case 2:
+        view.setInt16(byteOffset, (int) value, littleEndian);
+        break;
+      case 3:
+        view.setUint16(byteOffset, (int) value, littleEndian);
+        break;
+      case 4:
+        view.setInt32(byteOffset, (int) value, littleEndian);
+        break;
+      case 5:
+        view.setUint32(byteOffset, (int) (long) value, littleEndian);
+        break;
+      case 6:
+        view.setFloat32(byteOffset, value, littleEndian);
+        break;
+      default:
+        view.setFloat64(byteOffset, value, littleEndian);
+        break;
+    }
+  }
+
+  /**
+   * Implementation of readRecords for production mode where Java arrays are JavaScript arrays. The
+   * type codes are the ordinals of {@link Type}.
+   */
+  private static native void readForProdMode(DataView view, int[] types, int[] offsets,
+      int byteOffset, int stride, int count, float[] out, boolean littleEndian) /*-{
+		var n = types.length;
+		var o = 0;
+		for ( var r = 0; r < count; r++) {
+			var base = byteOffset + r * stride;
+			for ( var i = 0; i < n; i++) {
+				var p = base + offsets[i];
+				switch (types[i]) {
+				case 0:
+					out[o++] = view.getInt8(p);
+					break;
+				case 1:
+					out[o++] = view.getUint8(p);
+					break;
+				case 2:
+					out[o++] = view.getInt16(p, littleEndian);
+					break;
+				case 3:
+					out[o++] = view.getUint16(p, littleEndian);
+					break;
+				case 4:
+					out[o++] = view.getInt32(p, littleEndian);
+					break;
+				case 5:
+					out[o++] = view.getUint32(p, littleEndian);
+					break;
+				case 6:
+					out[o++] = view.getFloat32(p, littleEndian);
+					break;
+				default:
+					out[o++] = view.getFloat64(p, littleEndian);
+				}
+			}
+		}
+  }-*/;
+
+  /**
+   * Implementation of writeRecords for production mode where Java arrays are JavaScript arrays.
+   * The type codes are the ordinals of {@link Type}.
+   */
+  private static native void writeForProdMode(DataView view, int[] types, int[] offsets,
+      int byteOffset, int stride, int count, float[] values, boolean littleEndian) /*-{
+		var n = types.length;
+		var v = 0;
+		for ( var r = 0; r < count; r++) {
+			var base = byteOffset + r * stride;
+			for ( var i = 0; i < n; i++) {
+				var p = base + offsets[i];
+				switch (types[i]) {
+				case 0:
+					view.setInt8(p, values[v++]);
+					break;
+				case 1:
+					view.setUint8(p, values[v++]);
+					break;
+				case 2:
+					view.setInt16(p, values[v++], littleEndian);
+					break;
+				case 3:
+					view.setUint16(p, values[v++], littleEndian);
+					break;
+				case 4:
+					view.setInt32(p, values[v++], littleEndian);
+					break;
+				case 5:
+					view.setUint32(p, values[v++], littleEndian);
+					break;
+				case 6:
+					view.setFloat32(p, values[v++], littleEndian);
+					break;
+				default:
+					view.setFloat64(p, values[v++], littleEndian);
+				}
+			}
+		}
+  }-*/;
+
+  private static int align(int value, int alignment) {
+    int remainder = value % alignment;
+    return remainder == 0 ? value : value + alignment - remainder;
+  }
+}
@@ -148,4 +148,23 @@ public abstract class TypedArray<T extends TypedArray<T>> extends ArrayBufferVie
 		return this.subarray(begin, end);
   }-*/;
 
+  /**
+   * Checks that a bulk copy of length values starting at srcOffset in a source array of the given
+   * length to the given offset of this {@link TypedArray} stays inside of both arrays.
+   * 
+   * @param srcLength the length of the source array
+   * @param srcOffset the index of the first value to copy from the source array
+   * @param length the number of values to copy
+   * @param offset the offset relative to the beginning of the TypedArray
+   * @throws IndexOutOfBoundsException if the range is outside of one of the arrays
+   */
+  final void checkCopyRange(int srcLength, int srcOffset, int length, int offset) {
+    if (srcOffset < 0 || length < 0 || offset < 0 || srcOffset + length > srcLength
+        || offset + length > getLength()) {
+      throw new IndexOutOfBoundsException("Cannot copy " + length + " values from index "
+          + srcOffset + " of an array of length " + srcLength + " to offset " + offset
+          + " of a TypedArray of length " + getLength());
+    }
+  }
+
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.client;
+
+/**
+ * Base class for growable lists of primitive values that are stored in a {@link TypedArray}. The
+ * capacity is doubled when the list is full, so adding values has amortized constant cost. The
+ * values can be handed to WebGL without copying them by {@link #getArray()}.
+ * 
+ * @param <T> the type of the backing {@link TypedArray}
+ */
+public abstract class TypedArrayList<T extends TypedArray<T>> {
+
+  /**
+   * The default capacity of new lists.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The array containing the values. Its length is the capacity of the list.
+   */
+  protected T array;
+
+  /**
+   * The number of values in the list.
+   */
+  protected int size = 0;
+
+  /**
+   * Creates an empty list with the given capacity.
+   * 
+   * @param capacity the initial capacity
+   */
+  protected TypedArrayList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+    }
+    array = createArray(capacity);
+  }
+
+  /**
+   * Creates a new backing array.
+   * 
+   * @param capacity the length of the new array
+   * @return the new array
+   */
+  protected abstract T createArray(int capacity);
+
+  /**
+   * Returns the number of values in the list.
+   * 
+   * @return the size of the list
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the list contains no values.
+   * 
+   * @return true if the list is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of values the list can hold without growing.
+   * 
+   * @return the capacity of the list
+   */
+  public int getCapacity() {
+    return array.getLength();
+  }
+
+  /**
+   * Removes all values from the list. The capacity isn't changed.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Grows the backing array, if necessary, to hold at least the given number of values.
+   * 
+   * @param capacity the minimum capacity
+   */
+  public void ensureCapacity(int capacity) {
+    int oldCapacity = array.getLength();
+    if (capacity > oldCapacity) {
+      resize(Math.max(capacity, Math.max(oldCapacity * 2, DEFAULT_CAPACITY)));
+    }
+  }
+
+  /**
+   * Shrinks the backing array to the size of the list.
+   */
+  public void trimToSize() {
+    if (size < array.getLength()) {
+      resize(size);
+    }
+  }
+
+  /**
+   * Returns a view of the values of the list. The view shares the memory with the list, so no
+   * values are copied. It isn't updated when the list grows, as the list switches to a new backing
+   * array then.
+   * 
+   * @return a view of the list's values
+   */
+  public T getArray() {
+    return size == array.getLength() ? array : array.subarray(0, size);
+  }
+
+  /**
+   * Checks that the given index is inside of the list.
+   * 
+   * @param index the index to check
+   */
+  protected void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  /**
+   * Reserves space for the given number of values at the end of the list.
+   * 
+   * @param count the number of values to add
+   * @return the index of the first reserved value
+   */
+  protected int grow(int count) {
+    int index = size;
+    ensureCapacity(size + count);
+    size += count;
+    return index;
+  }
+
+  private void resize(int capacity) {
+    T newArray = createArray(capacity);
+    newArray.set(array.subarray(0, size));
+    array = newArray;
+  }
+}
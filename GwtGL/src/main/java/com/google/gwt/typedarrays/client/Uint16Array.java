@@ -110,7 +110,11 @@ public class Uint16Array extends IntBasedTypedArray<Uint16Array> {
    * @return the created {@link Uint16Array} or null if it isn't supported by the browser.
    */
   public static Uint16Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Uint16Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
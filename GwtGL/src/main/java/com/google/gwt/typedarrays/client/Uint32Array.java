@@ -110,7 +110,11 @@ public class Uint32Array extends IntBasedTypedArray<Uint32Array> {
    * @return the created {@link Uint32Array} or null if it isn't supported by the browser.
    */
   public static Uint32Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Uint32Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
@@ -109,7 +109,11 @@ public class Uint8Array extends IntBasedTypedArray<Uint8Array> {
    * @return the created {@link Uint8Array} or null if it isn't supported by the browser.
    */
   public static Uint8Array create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Uint8Array result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
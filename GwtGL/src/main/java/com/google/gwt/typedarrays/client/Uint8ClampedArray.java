@@ -116,7 +116,11 @@ public class Uint8ClampedArray extends IntBasedTypedArray<Uint8ClampedArray> {
    * @return the created {@link Uint8ClampedArray} or null if it isn't supported by the browser.
    */
   public static Uint8ClampedArray create(int[] array) {
-    return create(JsArrayUtil.wrapArray(array));
+    Uint8ClampedArray result = create(array.length);
+    if (result != null) {
+      result.set(array, 0, array.length, 0);
+    }
+    return result;
   }
 
   /**
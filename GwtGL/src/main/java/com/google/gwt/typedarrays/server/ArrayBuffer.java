@@ -0,0 +1,91 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The ArrayBuffer is a buffer for the data of {@link TypedArray}s. It's the raw untyped store for
+ * the data represented by the {@link TypedArray}s using this ArrayBuffer.
+ * 
+ * The data is held in a direct {@link ByteBuffer} using the native byte order of the platform.
+ */
+public class ArrayBuffer {
+
+  /**
+   * Constructs a new ArrayBuffer instance. The newly created ArrayBuffer has the given length in
+   * bytes. The ArrayBuffer is initialized with 0 values.
+   * 
+   * @param length the byte length of the newly created ArrayBuffer
+   * @return the created ArrayBuffer
+   */
+  public static ArrayBuffer create(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("The length of an ArrayBuffer must not be negative");
+    }
+    return new ArrayBuffer(ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder()));
+  }
+
+  /**
+   * The data of this ArrayBuffer. Position and limit of this buffer are never changed.
+   */
+  private final ByteBuffer data;
+
+  /**
+   * Creates an ArrayBuffer using the given {@link ByteBuffer} as storage.
+   * 
+   * @param data the storage of the ArrayBuffer
+   */
+  private ArrayBuffer(ByteBuffer data) {
+    this.data = data;
+  }
+
+  /**
+   * Returns the non changeable length of the ArrayBuffer in bytes.
+   * 
+   * @return the non changeable length of the ArrayBuffer in bytes.
+   */
+  public final int getByteLength() {
+    return data.capacity();
+  }
+
+  /**
+   * Returns a {@link ByteBuffer} sharing the contents of this ArrayBuffer. The returned buffer
+   * uses the native byte order, its position is 0 and its limit is the byte length. Changing the
+   * position, limit or byte order of the returned buffer doesn't affect this ArrayBuffer.
+   * 
+   * @return a new {@link ByteBuffer} sharing the contents of this ArrayBuffer
+   */
+  public final ByteBuffer asByteBuffer() {
+    return data.duplicate().order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Returns a {@link ByteBuffer} sharing the given range of this ArrayBuffer. The position of the
+   * returned buffer is 0 and its capacity is the given byteLength.
+   * 
+   * @param byteOffset the offset of the range in bytes
+   * @param byteLength the length of the range in bytes
+   * @param order the byte order of the returned buffer
+   * @return the slice of the data
+   */
+  final ByteBuffer slice(int byteOffset, int byteLength, ByteOrder order) {
+    ByteBuffer duplicate = data.duplicate();
+    duplicate.position(byteOffset);
+    duplicate.limit(byteOffset + byteLength);
+    return duplicate.slice().order(order);
+  }
+
+}
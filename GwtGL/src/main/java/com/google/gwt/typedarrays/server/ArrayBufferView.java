@@ -0,0 +1,72 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+/**
+ * 
+ * An ArrayBufferView is used to access (read/write) the contents of an ArrayBuffer.
+ * 
+ */
+public abstract class ArrayBufferView {
+
+  private final ArrayBuffer buffer;
+  private final int byteOffset;
+  private final int byteLength;
+
+  /**
+   * Creates a view on the given range of the {@link ArrayBuffer}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}
+   * @param byteOffset the offset of the view relative to the beginning of the {@link ArrayBuffer}
+   * @param byteLength the length of the view in bytes
+   */
+  ArrayBufferView(ArrayBuffer buffer, int byteOffset, int byteLength) {
+    if (byteOffset < 0 || byteLength < 0 || byteOffset + byteLength > buffer.getByteLength()) {
+      throw new IndexOutOfBoundsException("The range [" + byteOffset + ", "
+          + (byteOffset + byteLength) + ") is out of the bounds of the ArrayBuffer");
+    }
+    this.buffer = buffer;
+    this.byteOffset = byteOffset;
+    this.byteLength = byteLength;
+  }
+
+  /**
+   * Returns the underlying {@link ArrayBuffer} of this ArrayBufferView.
+   * 
+   * @return the underlying {@link ArrayBuffer}
+   */
+  public final ArrayBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns the byte length of this ArrayBufferView.
+   * 
+   * @return the byte length of this ArrayBufferView
+   */
+  public final int getByteLength() {
+    return byteLength;
+  }
+
+  /**
+   * Returns the byte offset of this ArrayBufferView relative to the beginning of the underlying
+   * {@link ArrayBuffer}.
+   * 
+   * @return the byte offset
+   */
+  public final int getByteOffset() {
+    return byteOffset;
+  }
+
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A DataView is an {@link ArrayBufferView} that allows to read/write values of different types
+ * at arbitrary (unaligned) byte offsets. As defined by the specification, values are read and
+ * written in big endian byte order if no byte order is given.
+ */
+public class DataView extends ArrayBufferView {
+
+  /**
+   * Constructs a new DataView instance using the given {@link ArrayBuffer}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}.
+   * @return the newly created DataView
+   */
+  public static DataView create(ArrayBuffer buffer) {
+    return create(buffer, 0);
+  }
+
+  /**
+   * Constructs a new DataView instance using the given {@link ArrayBuffer} and byteOffset.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}.
+   * @param byteOffset the byteOffset of the DataView relative to the start of the underlying
+   *          {@link ArrayBuffer}.
+   * @return the created DataView
+   */
+  public static DataView create(ArrayBuffer buffer, int byteOffset) {
+    return create(buffer, byteOffset, buffer.getByteLength() - byteOffset);
+  }
+
+  /**
+   * Constructs a new DataView instance using the given {@link ArrayBuffer}, byteOffset and length.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}.
+   * @param byteOffset the byteOffset of the DataView relative to the start of the underlying
+   *          {@link ArrayBuffer}.
+   * @param length the length of the DataView in bytes.
+   * @return the created DataView
+   */
+  public static DataView create(ArrayBuffer buffer, int byteOffset, int length) {
+    return new DataView(buffer, byteOffset, length);
+  }
+
+  /**
+   * Checks if the {@link DataView} is supported. Always true for the pure Java implementation.
+   * 
+   * @return true
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  private final ByteBuffer bigEndian;
+  private final ByteBuffer littleEndian;
+
+  private DataView(ArrayBuffer buffer, int byteOffset, int length) {
+    super(buffer, byteOffset, length);
+    bigEndian = buffer.slice(byteOffset, length, ByteOrder.BIG_ENDIAN);
+    littleEndian = buffer.slice(byteOffset, length, ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Reads a Float32 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Float32 value at the given byteOffset
+   */
+  public final float getFloat32(int byteOffset) {
+    return getFloat32(byteOffset, false);
+  }
+
+  /**
+   * Reads a Float32 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Float32 value at the given byteOffset
+   */
+  public final float getFloat32(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getFloat(byteOffset);
+  }
+
+  /**
+   * Reads a Float64 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Float64 value at the given byteOffset
+   */
+  public final double getFloat64(int byteOffset) {
+    return getFloat64(byteOffset, false);
+  }
+
+  /**
+   * Reads a Float64 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Float64 value at the given byteOffset
+   */
+  public final double getFloat64(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getDouble(byteOffset);
+  }
+
+  /**
+   * Reads a Int16 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Int16 value at the given byteOffset
+   */
+  public final int getInt16(int byteOffset) {
+    return getInt16(byteOffset, false);
+  }
+
+  /**
+   * Reads a Int16 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Int16 value at the given byteOffset
+   */
+  public final int getInt16(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getShort(byteOffset);
+  }
+
+  /**
+   * Reads a Int8 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Int8 value at the given byteOffset
+   */
+  public final int getInt8(int byteOffset) {
+    return bigEndian.get(byteOffset);
+  }
+
+  /**
+   * Reads a Int32 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Int32 value at the given byteOffset
+   */
+  public final int getInt32(int byteOffset) {
+    return getInt32(byteOffset, false);
+  }
+
+  /**
+   * Reads a Int32 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Int32 value at the given byteOffset
+   */
+  public final int getInt32(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getInt(byteOffset);
+  }
+
+  /**
+   * Reads a Uint16 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Uint16 value at the given byteOffset
+   */
+  public final int getUint16(int byteOffset) {
+    return getUint16(byteOffset, false);
+  }
+
+  /**
+   * Reads a Uint16 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Uint16 value at the given byteOffset
+   */
+  public final int getUint16(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getShort(byteOffset) & 0xFFFF;
+  }
+
+  /**
+   * Reads a Uint32 value at the given byteOffset using big endian byte order.
+   * 
+   * Values above 2^31-1 are returned as negative int with the same bit pattern.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Uint32 value at the given byteOffset
+   */
+  public final int getUint32(int byteOffset) {
+    return getUint32(byteOffset, false);
+  }
+
+  /**
+   * Reads a Uint32 value at the given byteOffset.
+   * 
+   * Values above 2^31-1 are returned as negative int with the same bit pattern.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param littleEndian true, if the value is stored in little endian byte order, false for big
+   *          endian byte order
+   * @return the Uint32 value at the given byteOffset
+   */
+  public final int getUint32(int byteOffset, boolean littleEndian) {
+    return order(littleEndian).getInt(byteOffset);
+  }
+
+  /**
+   * Reads a Uint8 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @return the Uint8 value at the given byteOffset
+   */
+  public final int getUint8(int byteOffset) {
+    return bigEndian.get(byteOffset) & 0xFF;
+  }
+
+  /**
+   * Writes a Float32 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setFloat32(int byteOffset, float value) {
+    setFloat32(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Float32 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setFloat32(int byteOffset, float value, boolean littleEndian) {
+    order(littleEndian).putFloat(byteOffset, value);
+  }
+
+  /**
+   * Writes a Float64 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setFloat64(int byteOffset, double value) {
+    setFloat64(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Float64 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setFloat64(int byteOffset, double value, boolean littleEndian) {
+    order(littleEndian).putDouble(byteOffset, value);
+  }
+
+  /**
+   * Writes a Int16 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setInt16(int byteOffset, int value) {
+    setInt16(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Int16 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setInt16(int byteOffset, int value, boolean littleEndian) {
+    order(littleEndian).putShort(byteOffset, (short) value);
+  }
+
+  /**
+   * Writes a Int32 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setInt32(int byteOffset, int value) {
+    setInt32(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Int32 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setInt32(int byteOffset, int value, boolean littleEndian) {
+    order(littleEndian).putInt(byteOffset, value);
+  }
+
+  /**
+   * Writes a Int8 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setInt8(int byteOffset, int value) {
+    bigEndian.put(byteOffset, (byte) value);
+  }
+
+  /**
+   * Writes a Uint16 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setUint16(int byteOffset, int value) {
+    setUint16(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Uint16 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setUint16(int byteOffset, int value, boolean littleEndian) {
+    order(littleEndian).putShort(byteOffset, (short) value);
+  }
+
+  /**
+   * Writes a Uint32 value at the given byteOffset using big endian byte order.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setUint32(int byteOffset, int value) {
+    setUint32(byteOffset, value, false);
+  }
+
+  /**
+   * Writes a Uint32 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   * @param littleEndian true, if the value has to be stored in little endian byte order, false for
+   *          big endian byte order
+   */
+  public final void setUint32(int byteOffset, int value, boolean littleEndian) {
+    order(littleEndian).putInt(byteOffset, value);
+  }
+
+  /**
+   * Writes a Uint8 value at the given byteOffset.
+   * 
+   * @param byteOffset the byte offset from the start of the DataView.
+   * @param value the value to set
+   */
+  public final void setUint8(int byteOffset, int value) {
+    bigEndian.put(byteOffset, (byte) value);
+  }
+
+  private ByteBuffer order(boolean littleEndian) {
+    return littleEndian ? this.littleEndian : bigEndian;
+  }
+
+}
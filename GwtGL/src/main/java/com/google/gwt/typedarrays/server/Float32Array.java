@@ -0,0 +1,180 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * {@link TypedArray} that contains 32 Bit float values.
+ */
+public class Float32Array extends TypedArray<Float32Array> {
+
+  /**
+   * The number of bytes used for each value contained in the array.
+   */
+  public static final int BYTES_PER_ELEMENT = 4;
+
+  /**
+   * Creates a new instance of the {@link Float32Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @return the created {@link Float32Array}.
+   */
+  public static Float32Array create(ArrayBuffer buffer) {
+    return create(buffer, 0);
+  }
+
+  /**
+   * Creates a new instance of the {@link Float32Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to starting at the given byteOffset. The byte offset must match
+   * (multiple) the value length of this {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @return the newly created {@link Float32Array}.
+   */
+  public static Float32Array create(ArrayBuffer buffer, int byteOffset) {
+    return create(buffer, byteOffset, remainingLength(buffer, byteOffset, BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Float32Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to. The byte offset must match (multiple) the value length of this
+   * {@link TypedArray}. The length is in values of the type of the {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @param length the length of the {@link TypedArray} in vales.
+   * @return the newly created {@link Float32Array}.
+   */
+  public static Float32Array create(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Float32Array(buffer, byteOffset, length);
+  }
+
+  /**
+   * Creates a new instance of the {@link Float32Array} of the length of the given array in values.
+   * The values contained in the given array are set to the newly created {@link Float32Array}.
+   * 
+   * @param array the array to get the values from
+   * @return the created {@link Float32Array}.
+   */
+  public static Float32Array create(float[] array) {
+    Float32Array result = create(array.length);
+    result.set(array);
+    return result;
+  }
+
+  /**
+   * Creates a new instance of the {@link Float32Array} of the given length in values. All values
+   * are set to 0.
+   * 
+   * @param length the length in values of the type used by this {@link Float32Array}
+   * @return the created {@link Float32Array}.
+   */
+  public static Float32Array create(int length) {
+    return create(ArrayBuffer.create(length * BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Float32Array} of the same length (in values) as the given
+   * {@link TypedArray} using a new ArrayBuffer. The new {@link TypedArray} is initialized with
+   * the values of the given {@link TypedArray}. If necessary the values are converted to the value
+   * type of the new {@link TypedArray}.
+   * 
+   * @param array the {@link TypedArray} to get the values from to initialize the new Array with
+   * @return the created {@link Float32Array}.
+   */
+  public static Float32Array create(TypedArray<?> array) {
+    Float32Array result = create(array.getLength());
+    result.setConverted(array);
+    return result;
+  }
+
+  private final FloatBuffer data;
+
+  private Float32Array(ArrayBuffer buffer, int byteOffset, int length) {
+    super(buffer, byteOffset, length, BYTES_PER_ELEMENT);
+    data = slice(ByteOrder.nativeOrder()).asFloatBuffer();
+  }
+
+  /**
+   * Reads the value at the given index. The index is based on the value length of the type used by
+   * this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  public final float get(int index) {
+    return data.get(index);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(float[] array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(float[] array, int offset) {
+    checkRange(offset, array.length);
+    FloatBuffer target = data.duplicate();
+    target.position(offset);
+    target.put(array);
+  }
+
+  /**
+   * Writes the given value at the given index. The index is based on the value length of the type
+   * used by this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  public final void set(int index, float value) {
+    data.put(index, value);
+  }
+
+  @Override
+  Float32Array createView(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Float32Array(buffer, byteOffset, length);
+  }
+
+  @Override
+  int getBytesPerElement() {
+    return BYTES_PER_ELEMENT;
+  }
+
+  @Override
+  double getNumber(int index) {
+    return data.get(index);
+  }
+
+  @Override
+  void setNumber(int index, double value) {
+    data.put(index, (float) value);
+  }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+/**
+ * Parent class of all integer based {@link TypedArray}s. Users of the typed arrays API should
+ * not rely on this class as it's not part of the specification and only introduced to simplify the
+ * implementation of the Int* and Uint* Arrays.
+ * 
+ * @param <T> the type of the {@link TypedArray} itself. Used for methods that use parameters that
+ *          must have the same type than the TypedArray itself.
+ */
+public abstract class IntBasedTypedArray<T extends IntBasedTypedArray<T>> extends TypedArray<T> {
+
+  /**
+   * Creates an IntBasedTypedArray on the given range of the {@link ArrayBuffer}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}
+   * @param byteOffset the offset relative to the beginning of the {@link ArrayBuffer}
+   * @param length the length of the TypedArray in values
+   * @param bytesPerElement the value length of the TypedArray
+   */
+  IntBasedTypedArray(ArrayBuffer buffer, int byteOffset, int length, int bytesPerElement) {
+    super(buffer, byteOffset, length, bytesPerElement);
+  }
+
+  /**
+   * Reads the value at the given index. The index is based on the value length of the type used by
+   * this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  public final int get(int index) {
+    return (int) getLongValue(index);
+  }
+
+  /**
+   * Reads the value at the given index. The index is based on the value length of the type used by
+   * this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  public final byte getByte(int index) {
+    return (byte) getLongValue(index);
+  }
+
+  /**
+   * Reads the value at the given index. The index is based on the value length of the type used by
+   * this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  public final long getLong(int index) {
+    return getLongValue(index);
+  }
+
+  /**
+   * Reads the value at the given index. The index is based on the value length of the type used by
+   * this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  public final short getShort(int index) {
+    return (short) getLongValue(index);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(byte[] array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(byte[] array, int offset) {
+    checkRange(offset, array.length);
+    for (int i = 0; i < array.length; i++) {
+      setLongValue(offset + i, array[i]);
+    }
+  }
+
+  /**
+   * Writes the given value at the given index. The index is based on the value length of the type
+   * used by this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * Values that are out of the range for the type used by this TypedAray are silently casted to be
+   * in range.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  public final void set(int index, byte value) {
+    setLongValue(index, value);
+  }
+
+  /**
+   * Writes the given value at the given index. The index is based on the value length of the type
+   * used by this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * Values that are out of the range for the type used by this TypedAray are silently casted to be
+   * in range.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  public final void set(int index, int value) {
+    setLongValue(index, value);
+  }
+
+  /**
+   * Writes the given value at the given index. The index is based on the value length of the type
+   * used by this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * Values that are out of the range for the type used by this TypedAray are silently casted to be
+   * in range.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  public final void set(int index, long value) {
+    setLongValue(index, value);
+  }
+
+  /**
+   * Writes the given value at the given index. The index is based on the value length of the type
+   * used by this {@link TypedArray}. Accessing an index that doesn't exist will cause an exception.
+   * 
+   * Values that are out of the range for the type used by this TypedAray are silently casted to be
+   * in range.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  public final void set(int index, short value) {
+    setLongValue(index, value);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(int[] array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(int[] array, int offset) {
+    checkRange(offset, array.length);
+    for (int i = 0; i < array.length; i++) {
+      setLongValue(offset + i, array[i]);
+    }
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(long[] array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(long[] array, int offset) {
+    checkRange(offset, array.length);
+    for (int i = 0; i < array.length; i++) {
+      setLongValue(offset + i, array[i]);
+    }
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(short[] array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(short[] array, int offset) {
+    checkRange(offset, array.length);
+    for (int i = 0; i < array.length; i++) {
+      setLongValue(offset + i, array[i]);
+    }
+  }
+
+  @Override
+  double getNumber(int index) {
+    return getLongValue(index);
+  }
+
+  @Override
+  void setNumber(int index, double value) {
+    setLongValue(index, toInteger(value));
+  }
+
+  /**
+   * Reads the value at the given index. Unsigned values are returned without sign extension.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value at the given index
+   */
+  abstract long getLongValue(int index);
+
+  /**
+   * Writes the given value at the given index. Values that are out of range are casted C-style
+   * (or clamped by {@link Uint8ClampedArray}).
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the new value to set
+   */
+  abstract void setLongValue(int index, long value);
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A TypedArray is an {@link ArrayBufferView} that reads and writes value of one specific type
+ * to/from an {@link ArrayBuffer}.
+ * 
+ * @param <T> the concrete subtype of the TypedArray itself. Used for methods using the type of the
+ *          TypedArray as Parameter or return value.
+ */
+public abstract class TypedArray<T extends TypedArray<T>> extends ArrayBufferView {
+
+  /**
+   * Checks if {@link TypedArray}s are supported. Always true for the pure Java implementation.
+   * 
+   * @return true
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Calculates the number of values that fit into the given {@link ArrayBuffer} starting at the
+   * given byteOffset. The remaining byte length must be a multiple of the bytesPerElement.
+   * 
+   * @param buffer the {@link ArrayBuffer}
+   * @param byteOffset the offset relative to the beginning of the {@link ArrayBuffer}
+   * @param bytesPerElement the value length of the {@link TypedArray}
+   * @return the number of values
+   */
+  static int remainingLength(ArrayBuffer buffer, int byteOffset, int bytesPerElement) {
+    int remaining = buffer.getByteLength() - byteOffset;
+    if (remaining % bytesPerElement != 0) {
+      throw new IllegalArgumentException("The remaining byte length " + remaining
+          + " of the ArrayBuffer must be a multiple of " + bytesPerElement);
+    }
+    return remaining / bytesPerElement;
+  }
+
+  /**
+   * Converts a number to an integer like the ToInt* operations of ECMAScript do before the value
+   * is truncated to the bit width of the {@link TypedArray}.
+   * 
+   * @param value the value to convert
+   * @return the converted value
+   */
+  static long toInteger(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return 0;
+    }
+    return (long) value;
+  }
+
+  private final int length;
+
+  /**
+   * Creates a TypedArray on the given range of the {@link ArrayBuffer}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}
+   * @param byteOffset the offset relative to the beginning of the {@link ArrayBuffer} (multiple of
+   *          the value length)
+   * @param length the length of the TypedArray in values
+   * @param bytesPerElement the value length of the TypedArray
+   */
+  TypedArray(ArrayBuffer buffer, int byteOffset, int length, int bytesPerElement) {
+    super(buffer, byteOffset, length * bytesPerElement);
+    if (byteOffset % bytesPerElement != 0) {
+      throw new IllegalArgumentException("The byteOffset " + byteOffset
+          + " must be a multiple of " + bytesPerElement);
+    }
+    this.length = length;
+  }
+
+  /**
+   * Returns the number of values of the array type contained in the array.
+   * 
+   * @return the number of values of the array type contained in the array.
+   */
+  public final int getLength() {
+    return length;
+  }
+
+  /**
+   * Set multiple values, of the given array to this array.
+   * 
+   * @param array the array to get the values from
+   */
+  public final void set(T array) {
+    set(array, 0);
+  }
+
+  /**
+   * Set multiple values, of the given array to this array starting at the given offset. The
+   * values are copied as raw bytes, even if both arrays share the same {@link ArrayBuffer}.
+   * 
+   * @param array the array to get the values from
+   * @param offset the offset to start setting the values
+   */
+  public final void set(T array, int offset) {
+    checkRange(offset, array.getLength());
+    ByteBuffer source = array.slice(ByteOrder.nativeOrder());
+    if (array.getBuffer() == getBuffer()) {
+      // the ranges might overlap, so the source is copied first
+      byte[] copy = new byte[source.remaining()];
+      source.get(copy);
+      source = ByteBuffer.wrap(copy);
+    }
+    int bytesPerElement = getBytesPerElement();
+    getBuffer().slice(getByteOffset() + offset * bytesPerElement,
+        array.getLength() * bytesPerElement, ByteOrder.nativeOrder()).put(source);
+  }
+
+  /**
+   * Returns a new {@link TypedArray} with the same underlying {@link ArrayBuffer}.
+   * 
+   * @param begin the beginning offset of the new {@link TypedArray} from the start of this
+   *          {@link TypedArray}. If the value is negative, it's the offset from the end of this
+   *          {@link TypedArray}.
+   * @return the new Array
+   */
+  public final T subarray(int begin) {
+    return subarray(begin, length);
+  }
+
+  /**
+   * Returns a new {@link TypedArray} with the same underlying {@link ArrayBuffer}.
+   * 
+   * @param begin the beginning offset of the new {@link TypedArray} from the start of this
+   *          {@link TypedArray}. If the value is negative, it's the offset from the end of this
+   *          {@link TypedArray}.
+   * @param end the end offset (exclusive). If the value is negative, it's the offset from the end
+   *          of this {@link TypedArray}.
+   * @return the new Array
+   */
+  public final T subarray(int begin, int end) {
+    int first = clampIndex(begin);
+    int last = Math.max(first, clampIndex(end));
+    return createView(getBuffer(), getByteOffset() + first * getBytesPerElement(), last - first);
+  }
+
+  /**
+   * Checks that count values starting at offset fit into this array.
+   * 
+   * @param offset the index of the first value
+   * @param count the number of values
+   */
+  final void checkRange(int offset, int count) {
+    if (offset < 0 || count < 0 || offset + count > length) {
+      throw new IndexOutOfBoundsException("Can't set " + count + " values at offset " + offset
+          + " of an array of length " + length);
+    }
+  }
+
+  /**
+   * Returns a {@link ByteBuffer} sharing the contents of this array.
+   * 
+   * @param order the byte order of the returned buffer
+   * @return the slice of the underlying {@link ArrayBuffer}
+   */
+  final ByteBuffer slice(ByteOrder order) {
+    return getBuffer().slice(getByteOffset(), getByteLength(), order);
+  }
+
+  /**
+   * Sets the values of the given array converting them to the value type of this array.
+   * 
+   * @param array the array to get the values from
+   */
+  final void setConverted(TypedArray<?> array) {
+    checkRange(0, array.getLength());
+    for (int i = 0; i < array.getLength(); i++) {
+      setNumber(i, array.getNumber(i));
+    }
+  }
+
+  /**
+   * Creates a new view of the same type on the given range of the {@link ArrayBuffer}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer}
+   * @param byteOffset the offset relative to the beginning of the {@link ArrayBuffer}
+   * @param length the length in values
+   * @return the created view
+   */
+  abstract T createView(ArrayBuffer buffer, int byteOffset, int length);
+
+  /**
+   * Returns the number of bytes used for each value contained in the array.
+   * 
+   * @return the number of bytes used for each value
+   */
+  abstract int getBytesPerElement();
+
+  /**
+   * Reads the value at the given index as number.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @return the value
+   */
+  abstract double getNumber(int index);
+
+  /**
+   * Writes the given number at the given index using the conversion rules of the array type.
+   * 
+   * @param index the index relative to the beginning of the TypedArray.
+   * @param value the value to set
+   */
+  abstract void setNumber(int index, double value);
+
+  private int clampIndex(int index) {
+    if (index < 0) {
+      return Math.max(0, length + index);
+    }
+    return Math.min(index, length);
+  }
+
+}
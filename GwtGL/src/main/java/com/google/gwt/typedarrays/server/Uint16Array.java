@@ -0,0 +1,135 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * {@link TypedArray} that contains 16 Bit unsigned integer values.
+ */
+public class Uint16Array extends IntBasedTypedArray<Uint16Array> {
+
+  /**
+   * The number of bytes used for each value contained in the array.
+   */
+  public static final int BYTES_PER_ELEMENT = 2;
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @return the created {@link Uint16Array}.
+   */
+  public static Uint16Array create(ArrayBuffer buffer) {
+    return create(buffer, 0);
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to starting at the given byteOffset. The byte offset must match
+   * (multiple) the value length of this {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @return the newly created {@link Uint16Array}.
+   */
+  public static Uint16Array create(ArrayBuffer buffer, int byteOffset) {
+    return create(buffer, byteOffset, remainingLength(buffer, byteOffset, BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} using the given {@link ArrayBuffer} to
+   * read/write values from/to. The byte offset must match (multiple) the value length of this
+   * {@link TypedArray}. The length is in values of the type of the {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @param length the length of the {@link TypedArray} in vales.
+   * @return the newly created {@link Uint16Array}.
+   */
+  public static Uint16Array create(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Uint16Array(buffer, byteOffset, length);
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} of the given length in values. All values
+   * are set to 0.
+   * 
+   * @param length the length in values of the type used by this {@link Uint16Array}
+   * @return the created {@link Uint16Array}.
+   */
+  public static Uint16Array create(int length) {
+    return create(ArrayBuffer.create(length * BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} of the length of the given array in values.
+   * The values contained in the given array are set to the newly created {@link Uint16Array}.
+   * 
+   * @param array the array to get the values from
+   * @return the created {@link Uint16Array}.
+   */
+  public static Uint16Array create(int[] array) {
+    Uint16Array result = create(array.length);
+    result.set(array);
+    return result;
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint16Array} of the same length (in values) as the given
+   * {@link TypedArray} using a new ArrayBuffer. The new {@link TypedArray} is initialized with
+   * the values of the given {@link TypedArray}. If necessary the values are converted to the value
+   * type of the new {@link TypedArray}.
+   * 
+   * @param array the {@link TypedArray} to get the values from to initialize the new Array with
+   * @return the created {@link Uint16Array}.
+   */
+  public static Uint16Array create(TypedArray<?> array) {
+    Uint16Array result = create(array.getLength());
+    result.setConverted(array);
+    return result;
+  }
+
+  private final ShortBuffer data;
+
+  private Uint16Array(ArrayBuffer buffer, int byteOffset, int length) {
+    super(buffer, byteOffset, length, BYTES_PER_ELEMENT);
+    data = slice(ByteOrder.nativeOrder()).asShortBuffer();
+  }
+
+  @Override
+  Uint16Array createView(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Uint16Array(buffer, byteOffset, length);
+  }
+
+  @Override
+  int getBytesPerElement() {
+    return BYTES_PER_ELEMENT;
+  }
+
+  @Override
+  long getLongValue(int index) {
+    return data.get(index) & 0xFFFF;
+  }
+
+  @Override
+  void setLongValue(int index, long value) {
+    data.put(index, (short) value);
+  }
+
+}
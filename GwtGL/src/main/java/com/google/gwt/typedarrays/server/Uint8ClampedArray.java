@@ -0,0 +1,178 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link TypedArray} that contains 8 Bit unsigned integer values. Values out of range are
+ * clamped to 0..255 instead of being casted.
+ */
+public class Uint8ClampedArray extends IntBasedTypedArray<Uint8ClampedArray> {
+
+  /**
+   * The number of bytes used for each value contained in the array.
+   */
+  public static final int BYTES_PER_ELEMENT = 1;
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} using the given {@link ArrayBuffer} to
+   * read/write values from/to.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @return the created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(ArrayBuffer buffer) {
+    return create(buffer, 0);
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} using the given {@link ArrayBuffer} to
+   * read/write values from/to starting at the given byteOffset. The byte offset must match
+   * (multiple) the value length of this {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @return the newly created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(ArrayBuffer buffer, int byteOffset) {
+    return create(buffer, byteOffset, remainingLength(buffer, byteOffset, BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} using the given {@link ArrayBuffer} to
+   * read/write values from/to. The byte offset must match (multiple) the value length of this
+   * {@link TypedArray}. The length is in values of the type of the {@link TypedArray}.
+   * 
+   * @param buffer the underlying {@link ArrayBuffer} of the newly created {@link TypedArray}.
+   * @param byteOffset the offset relative to the beginning of the ArrayBuffer (multiple of the
+   *          value length of this {@link TypedArray})
+   * @param length the length of the {@link TypedArray} in vales.
+   * @return the newly created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Uint8ClampedArray(buffer, byteOffset, length);
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} of the given length in values. All values
+   * are set to 0.
+   * 
+   * @param length the length in values of the type used by this {@link Uint8ClampedArray}
+   * @return the created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(int length) {
+    return create(ArrayBuffer.create(length * BYTES_PER_ELEMENT));
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} of the length of the given array in values.
+   * The values contained in the given array are set to the newly created {@link Uint8ClampedArray}.
+   * 
+   * @param array the array to get the values from
+   * @return the created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(int[] array) {
+    Uint8ClampedArray result = create(array.length);
+    result.set(array);
+    return result;
+  }
+
+  /**
+   * Creates a new instance of the {@link Uint8ClampedArray} of the same length (in values) as the given
+   * {@link TypedArray} using a new ArrayBuffer. The new {@link TypedArray} is initialized with
+   * the values of the given {@link TypedArray}. If necessary the values are converted to the value
+   * type of the new {@link TypedArray}.
+   * 
+   * @param array the {@link TypedArray} to get the values from to initialize the new Array with
+   * @return the created {@link Uint8ClampedArray}.
+   */
+  public static Uint8ClampedArray create(TypedArray<?> array) {
+    Uint8ClampedArray result = create(array.getLength());
+    result.setConverted(array);
+    return result;
+  }
+
+  /**
+   * Checks if the {@link Uint8ClampedArray} is supported. Always true for the pure Java
+   * implementation.
+   * 
+   * @return true
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  private final ByteBuffer data;
+
+  private Uint8ClampedArray(ArrayBuffer buffer, int byteOffset, int length) {
+    super(buffer, byteOffset, length, BYTES_PER_ELEMENT);
+    data = slice(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array.
+   * 
+   * @param array an array containing the new values to set.
+   */
+  public final void set(Uint8Array array) {
+    set(array, 0);
+  }
+
+  /**
+   * Writes multiple values to the TypedArray using the values of the given Array. Writes the values
+   * beginning at the given offset.
+   * 
+   * @param array an array containing the new values to set.
+   * @param offset the offset relative to the beginning of the TypedArray.
+   */
+  public final void set(Uint8Array array, int offset) {
+    checkRange(offset, array.getLength());
+    // both arrays use the same representation, so the values don't have to be converted
+    set(create(array.getBuffer(), array.getByteOffset(), array.getLength()), offset);
+  }
+
+  @Override
+  void setNumber(int index, double value) {
+    if (Double.isNaN(value)) {
+      setLongValue(index, 0);
+    } else {
+      // values are rounded half to even before clamping as defined by the specification
+      setLongValue(index, (long) Math.rint(Math.max(0, Math.min(255, value))));
+    }
+  }
+
+  @Override
+  Uint8ClampedArray createView(ArrayBuffer buffer, int byteOffset, int length) {
+    return new Uint8ClampedArray(buffer, byteOffset, length);
+  }
+
+  @Override
+  int getBytesPerElement() {
+    return BYTES_PER_ELEMENT;
+  }
+
+  @Override
+  long getLongValue(int index) {
+    return data.get(index) & 0xFF;
+  }
+
+  @Override
+  void setLongValue(int index, long value) {
+    data.put(index, (byte) Math.max(0, Math.min(255, value)));
+  }
+
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+/**
+ * Pure Java implementation of the Khronos "Typed Array Specification" at
+ * {@link "http://www.khronos.org/registry/typedarray/specs/latest/"} based on java.nio buffers.
+ * 
+ * The classes mirror the API of the GWT binding in {@link com.google.gwt.typedarrays.client} and
+ * can be used on the server side, in build tools and plain JUnit tests where no JavaScript engine
+ * is available. This package is not part of the GWT module and can't be used in client code.
+ */
+package com.google.gwt.typedarrays.server;
@@ -0,0 +1,657 @@
+/**
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.googlecode.gwtgl.binding;
+
+import com.google.gwt.typedarrays.client.Float32Array;
+
+/**
+ * A recorded sequence of {@link WebGLRenderingContext} calls that can be replayed any number of
+ * times.
+ *
+ * The recording methods mirror the methods of {@link WebGLRenderingContext}, so code that issues
+ * a static draw sequence can record it once and call {@link #replay(WebGLRenderingContext)} every
+ * frame. Calls are encoded into an int stream (opcode followed by its int arguments), a float
+ * stream and an object table.
+ *
+ * Uniform calls return a patch slot, which can be passed to the patch methods to change the
+ * recorded values without recording the list again. Uniform matrices recorded with a
+ * {@link Float32Array} are uploaded from that array on replay, so changing its contents also
+ * changes the replayed values.
+ */
+public final class CommandList {
+
+  static final int ACTIVE_TEXTURE = 1;
+  static final int BIND_BUFFER = 2;
+  static final int BIND_TEXTURE = 3;
+  static final int CLEAR = 4;
+  static final int CLEAR_COLOR = 5;
+  static final int DEPTH_FUNC = 6;
+  static final int DISABLE = 7;
+  static final int DISABLE_VERTEX_ATTRIB_ARRAY = 8;
+  static final int DRAW_ARRAYS = 9;
+  static final int DRAW_ELEMENTS = 10;
+  static final int ENABLE = 11;
+  static final int ENABLE_VERTEX_ATTRIB_ARRAY = 12;
+  static final int UNIFORM1F = 13;
+  static final int UNIFORM1I = 14;
+  static final int UNIFORM2F = 15;
+  static final int UNIFORM3F = 16;
+  static final int UNIFORM4F = 17;
+  static final int UNIFORM_MATRIX = 18;
+  static final int UNIFORM_MATRIX_ARRAY = 19;
+  static final int USE_PROGRAM = 20;
+  static final int VERTEX_ATTRIB_POINTER = 21;
+
+  private int[] ints = new int[64];
+  private int intCount;
+  private float[] floats = new float[32];
+  private int floatCount;
+  private Object[] objects = new Object[16];
+  private int objectCount;
+  private int size;
+  private boolean bindsElementArrayBuffer;
+
+  /**
+   * Scratch arrays for inline matrix uploads, indexed by the rank of the matrix.
+   */
+  private final Float32Array[] matrixScratch = new Float32Array[5];
+
+  /**
+   * Removes all recorded calls, so the list can be recorded again.
+   */
+  public void reset() {
+    for (int i = 0; i < objectCount; i++) {
+      objects[i] = null;
+    }
+    intCount = 0;
+    floatCount = 0;
+    objectCount = 0;
+    size = 0;
+    bindsElementArrayBuffer = false;
+  }
+
+  /**
+   * Returns the number of recorded calls.
+   *
+   * @return the number of recorded calls
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether a recorded call binds a buffer to
+   * {@link WebGLRenderingContext#ELEMENT_ARRAY_BUFFER}, so replaying the list changes the bound
+   * index buffer.
+   *
+   * @return true if the list binds an element array buffer
+   */
+  public boolean bindsElementArrayBuffer() {
+    return bindsElementArrayBuffer;
+  }
+
+  public void activeTexture(int texture) {
+    op(ACTIVE_TEXTURE);
+    i(texture);
+  }
+
+  public void bindBuffer(int target, WebGLBuffer buffer) {
+    op(BIND_BUFFER);
+    i(target);
+    o(buffer);
+    if (target == WebGLRenderingContext.ELEMENT_ARRAY_BUFFER) {
+      bindsElementArrayBuffer = true;
+    }
+  }
+
+  public void bindTexture(int target, WebGLTexture texture) {
+    op(BIND_TEXTURE);
+    i(target);
+    o(texture);
+  }
+
+  public void clear(int mask) {
+    op(CLEAR);
+    i(mask);
+  }
+
+  public void clearColor(float red, float green, float blue, float alpha) {
+    op(CLEAR_COLOR);
+    f(red);
+    f(green);
+    f(blue);
+    f(alpha);
+  }
+
+  public void depthFunc(int func) {
+    op(DEPTH_FUNC);
+    i(func);
+  }
+
+  public void disable(int cap) {
+    op(DISABLE);
+    i(cap);
+  }
+
+  public void disableVertexAttribArray(int index) {
+    op(DISABLE_VERTEX_ATTRIB_ARRAY);
+    i(index);
+  }
+
+  public void drawArrays(int mode, int first, int count) {
+    op(DRAW_ARRAYS);
+    i(mode);
+    i(first);
+    i(count);
+  }
+
+  public void drawElements(int mode, int count, int type, int offset) {
+    op(DRAW_ELEMENTS);
+    i(mode);
+    i(count);
+    i(type);
+    i(offset);
+  }
+
+  public void enable(int cap) {
+    op(ENABLE);
+    i(cap);
+  }
+
+  public void enableVertexAttribArray(int index) {
+    op(ENABLE_VERTEX_ATTRIB_ARRAY);
+    i(index);
+  }
+
+  /**
+   * Records a uniform1f call.
+   *
+   * @param location
+   * @param v0
+   * @return the patch slot of the recorded value
+   */
+  public int uniform1f(WebGLUniformLocation location, float v0) {
+    op(UNIFORM1F);
+    o(location);
+    int slot = floatCount;
+    f(v0);
+    return slot;
+  }
+
+  /**
+   * Records a uniform1i call.
+   *
+   * @param location
+   * @param v0
+   * @return the patch slot of the recorded value, to be used with {@link #patchInt(int, int)}
+   */
+  public int uniform1i(WebGLUniformLocation location, int v0) {
+    op(UNIFORM1I);
+    o(location);
+    int slot = intCount;
+    i(v0);
+    return slot;
+  }
+
+  /**
+   * Records a uniform2f call.
+   *
+   * @param location
+   * @param v0
+   * @param v1
+   * @return the patch slot of the recorded values
+   */
+  public int uniform2f(WebGLUniformLocation location, float v0, float v1) {
+    op(UNIFORM2F);
+    o(location);
+    int slot = floatCount;
+    f(v0);
+    f(v1);
+    return slot;
+  }
+
+  /**
+   * Records a uniform3f call.
+   *
+   * @param location
+   * @param v0
+   * @param v1
+   * @param v2
+   * @return the patch slot of the recorded values
+   */
+  public int uniform3f(WebGLUniformLocation location, float v0, float v1, float v2) {
+    op(UNIFORM3F);
+    o(location);
+    int slot = floatCount;
+    f(v0);
+    f(v1);
+    f(v2);
+    return slot;
+  }
+
+  /**
+   * Records a uniform4f call.
+   *
+   * @param location
+   * @param v0
+   * @param v1
+   * @param v2
+   * @param v3
+   * @return the patch slot of the recorded values
+   */
+  public int uniform4f(WebGLUniformLocation location, float v0, float v1, float v2, float v3) {
+    op(UNIFORM4F);
+    o(location);
+    int slot = floatCount;
+    f(v0);
+    f(v1);
+    f(v2);
+    f(v3);
+    return slot;
+  }
+
+  /**
+   * Records a uniformMatrix2fv call. The values are copied into the list.
+   *
+   * @param location
+   * @param transpose
+   * @param value the 4 values of the matrix
+   * @return the patch slot of the recorded values
+   */
+  public int uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, float[] value) {
+    return uniformMatrix(2, location, transpose, value);
+  }
+
+  /**
+   * Records a uniformMatrix3fv call. The values are copied into the list.
+   *
+   * @param location
+   * @param transpose
+   * @param value the 9 values of the matrix
+   * @return the patch slot of the recorded values
+   */
+  public int uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, float[] value) {
+    return uniformMatrix(3, location, transpose, value);
+  }
+
+  /**
+   * Records a uniformMatrix4fv call. The values are copied into the list.
+   *
+   * @param location
+   * @param transpose
+   * @param value the 16 values of the matrix
+   * @return the patch slot of the recorded values
+   */
+  public int uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, float[] value) {
+    return uniformMatrix(4, location, transpose, value);
+  }
+
+  /**
+   * Records a uniformMatrix2fv call. The array is referenced, not copied, so its contents at replay
+   * time are uploaded.
+   *
+   * @param location
+   * @param transpose
+   * @param value
+   */
+  public void uniformMatrix2fv(WebGLUniformLocation location, boolean transpose, Float32Array value) {
+    uniformMatrixArray(2, location, transpose, value);
+  }
+
+  /**
+   * Records a uniformMatrix3fv call. The array is referenced, not copied, so its contents at replay
+   * time are uploaded.
+   *
+   * @param location
+   * @param transpose
+   * @param value
+   */
+  public void uniformMatrix3fv(WebGLUniformLocation location, boolean transpose, Float32Array value) {
+    uniformMatrixArray(3, location, transpose, value);
+  }
+
+  /**
+   * Records a uniformMatrix4fv call. The array is referenced, not copied, so its contents at replay
+   * time are uploaded.
+   *
+   * @param location
+   * @param transpose
+   * @param value
+   */
+  public void uniformMatrix4fv(WebGLUniformLocation location, boolean transpose, Float32Array value) {
+    uniformMatrixArray(4, location, transpose, value);
+  }
+
+  public void useProgram(WebGLProgram program) {
+    op(USE_PROGRAM);
+    o(program);
+  }
+
+  public void vertexAttribPointer(int idx, int size, int type, boolean norm, int stride, int offset) {
+    op(VERTEX_ATTRIB_POINTER);
+    i(idx);
+    i(size);
+    i(type);
+    i(norm ? 1 : 0);
+    i(stride);
+    i(offset);
+  }
+
+  /**
+   * Replaces the first recorded value at the given float patch slot.
+   *
+   * @param slot a slot returned by one of the float uniform methods
+   * @param v0
+   */
+  public void patch(int slot, float v0) {
+    checkFloatSlot(slot, 1);
+    floats[slot] = v0;
+  }
+
+  /**
+   * Replaces the first two recorded values at the given float patch slot.
+   *
+   * @param slot a slot returned by one of the float uniform methods
+   * @param v0
+   * @param v1
+   */
+  public void patch(int slot, float v0, float v1) {
+    checkFloatSlot(slot, 2);
+    floats[slot] = v0;
+    floats[slot + 1] = v1;
+  }
+
+  /**
+   * Replaces the first three recorded values at the given float patch slot.
+   *
+   * @param slot a slot returned by one of the float uniform methods
+   * @param v0
+   * @param v1
+   * @param v2
+   */
+  public void patch(int slot, float v0, float v1, float v2) {
+    checkFloatSlot(slot, 3);
+    floats[slot] = v0;
+    floats[slot + 1] = v1;
+    floats[slot + 2] = v2;
+  }
+
+  /**
+   * Replaces the four recorded values at the given float patch slot.
+   *
+   * @param slot a slot returned by one of the float uniform methods
+   * @param v0
+   * @param v1
+   * @param v2
+   * @param v3
+   */
+  public void patch(int slot, float v0, float v1, float v2, float v3) {
+    checkFloatSlot(slot, 4);
+    floats[slot] = v0;
+    floats[slot + 1] = v1;
+    floats[slot + 2] = v2;
+    floats[slot + 3] = v3;
+  }
+
+  /**
+   * Replaces the recorded values at the given float patch slot with the given values.
+   *
+   * @param slot a slot returned by one of the float uniform methods
+   * @param values
+   */
+  public void patch(int slot, float[] values) {
+    checkFloatSlot(slot, values.length);
+    System.arraycopy(values, 0, floats, slot, values.length);
+  }
+
+  /**
+   * Replaces the recorded value at the given int patch slot.
+   *
+   * @param slot a slot returned by {@link #uniform1i(WebGLUniformLocation, int)}
+   * @param v0
+   */
+  public void patchInt(int slot, int v0) {
+    if (slot < 0 || slot >= intCount) {
+      throw new IndexOutOfBoundsException("Invalid patch slot " + slot);
+    }
+    ints[slot] = v0;
+  }
+
+  /**
+   * Issues all recorded calls to the given context.
+   *
+   * @param gl the context to replay the calls on
+   */
+  public void replay(WebGLRenderingContext gl) {
+    int[] ints = this.ints;
+    float[] floats = this.floats;
+    Object[] objects = this.objects;
+    int ip = 0;
+    int fp = 0;
+    int op = 0;
+    int end = intCount;
+    while (ip < end) {
+      switch (ints[ip++]) {
+        case ACTIVE_TEXTURE:
+          gl.activeTexture(ints[ip++]);
+          break;
+        case BIND_BUFFER:
+          gl.bindBuffer(ints[ip++], (WebGLBuffer) objects[op++]);
+          break;
+        case BIND_TEXTURE:
+          gl.bindTexture(ints[ip++], (WebGLTexture) objects[op++]);
+          break;
+        case CLEAR:
+          gl.clear(ints[ip++]);
+          break;
+        case CLEAR_COLOR:
+          gl.clearColor(floats[fp], floats[fp + 1], floats[fp + 2], floats[fp + 3]);
+          fp += 4;
+          break;
+        case DEPTH_FUNC:
+          gl.depthFunc(ints[ip++]);
+          break;
+        case DISABLE:
+          gl.disable(ints[ip++]);
+          break;
+        case DISABLE_VERTEX_ATTRIB_ARRAY:
+          gl.disableVertexAttribArray(ints[ip++]);
+          break;
+        case DRAW_ARRAYS:
+          gl.drawArrays(ints[ip], ints[ip + 1], ints[ip + 2]);
+          ip += 3;
+          break;
+        case DRAW_ELEMENTS:
+          gl.drawElements(ints[ip], ints[ip + 1], ints[ip + 2], ints[ip + 3]);
+          ip += 4;
+          break;
+        case ENABLE:
+          gl.enable(ints[ip++]);
+          break;
+        case ENABLE_VERTEX_ATTRIB_ARRAY:
+          gl.enableVertexAttribArray(ints[ip++]);
+          break;
+        case UNIFORM1F:
+          gl.uniform1f((WebGLUniformLocation) objects[op++], floats[fp++]);
+          break;
+        case UNIFORM1I:
+          gl.uniform1i((WebGLUniformLocation) objects[op++], ints[ip++]);
+          break;
+        case UNIFORM2F:
+          gl.uniform2f((WebGLUniformLocation) objects[op++], floats[fp], floats[fp + 1]);
+          fp += 2;
+          break;
+        case UNIFORM3F:
+          gl.uniform3f((WebGLUniformLocation) objects[op++], floats[fp], floats[fp + 1],
+              floats[fp + 2]);
+          fp += 3;
+          break;
+        case UNIFORM4F:
+          gl.uniform4f((WebGLUniformLocation) objects[op++], floats[fp], floats[fp + 1],
+              floats[fp + 2], floats[fp + 3]);
+          fp += 4;
+          break;
+        case UNIFORM_MATRIX: {
+          int rank = ints[ip];
+          boolean transpose = ints[ip + 1] != 0;
+          ip += 2;
+          Float32Array scratch = getMatrixScratch(rank);
+          int length = rank * rank;
+          for (int i = 0; i < length; i++) {
+            scratch.set(i, floats[fp + i]);
+          }
+          fp += length;
+          uniformMatrix(gl, rank, (WebGLUniformLocation) objects[op++], transpose, scratch);
+          break;
+        }
+        case UNIFORM_MATRIX_ARRAY: {
+          int rank = ints[ip];
+          boolean transpose = ints[ip + 1] != 0;
+          ip += 2;
+          WebGLUniformLocation location = (WebGLUniformLocation) objects[op++];
+          uniformMatrix(gl, rank, location, transpose, (Float32Array) objects[op++]);
+          break;
+        }
+        case USE_PROGRAM:
+          gl.useProgram((WebGLProgram) objects[op++]);
+          break;
+        case VERTEX_ATTRIB_POINTER:
+          gl.vertexAttribPointer(ints[ip], ints[ip + 1], ints[ip + 2], ints[ip + 3] != 0,
+              ints[ip + 4], ints[ip + 5]);
+          ip += 6;
+          break;
+        default:
+          throw new IllegalStateException("Unknown opcode " + ints[ip - 1] + " at " + (ip - 1));
+      }
+    }
+  }
+
+  /**
+   * Returns the recorded int stream. Only the first {@link #getIntCount()} elements are valid.
+   */
+  int[] getInts() {
+    return ints;
+  }
+
+  int getIntCount() {
+    return intCount;
+  }
+
+  /**
+   * Returns the recorded float stream. Only the first {@link #getFloatCount()} elements are valid.
+   */
+  float[] getFloats() {
+    return floats;
+  }
+
+  int getFloatCount() {
+    return floatCount;
+  }
+
+  Object getObject(int index) {
+    return objects[index];
+  }
+
+  int getObjectCount() {
+    return objectCount;
+  }
+
+  private int uniformMatrix(int rank, WebGLUniformLocation location, boolean transpose,
+      float[] value) {
+    int length = rank * rank;
+    if (value.length != length) {
+      throw new IllegalArgumentException("Expected " + length + " values but got " + value.length);
+    }
+    op(UNIFORM_MATRIX);
+    i(rank);
+    i(transpose ? 1 : 0);
+    o(location);
+    int slot = floatCount;
+    for (int i = 0; i < length; i++) {
+      f(value[i]);
+    }
+    return slot;
+  }
+
+  private void uniformMatrixArray(int rank, WebGLUniformLocation location, boolean transpose,
+      Float32Array value) {
+    op(UNIFORM_MATRIX_ARRAY);
+    i(rank);
+    i(transpose ? 1 : 0);
+    o(location);
+    o(value);
+  }
+
+  private static void uniformMatrix(WebGLRenderingContext gl, int rank,
+      WebGLUniformLocation location, boolean transpose, Float32Array value) {
+    switch (rank) {
+      case 2:
+        gl.uniformMatrix2fv(location, transpose, value);
+        break;
+      case 3:
+        gl.uniformMatrix3fv(location, transpose, value);
+        break;
+      default:
+        gl.uniformMatrix4fv(location, transpose, value);
+        break;
+    }
+  }
+
+  private Float32Array getMatrixScratch(int rank) {
+    Float32Array scratch = matrixScratch[rank];
+    if (scratch == null) {
+      scratch = Float32Array.create(rank * rank);
+      matrixScratch[rank] = scratch;
+    }
+    return scratch;
+  }
+
+  private void checkFloatSlot(int slot, int count) {
+    if (slot < 0 || slot + count > floatCount) {
+      throw new IndexOutOfBoundsException("Invalid patch slot " + slot);
+    }
+  }
+
+  private void op(int opcode) {
+    i(opcode);
+    size++;
+  }
+
+  private void i(int value) {
+    if (intCount == ints.length) {
+      int[] grown = new int[ints.length * 2];
+      System.arraycopy(ints, 0, grown, 0, intCount);
+      ints = grown;
+    }
+    ints[intCount++] = value;
+  }
+
+  private void f(float value) {
+    if (floatCount == floats.length) {
+      float[] grown = new float[floats.length * 2];
+      System.arraycopy(floats, 0, grown, 0, floatCount);
+      floats = grown;
+    }
+    floats[floatCount++] = value;
+  }
+
+  private void o(Object value) {
+    if (objectCount == objects.length) {
+      Object[] grown = new Object[objects.length * 2];
+      System.arraycopy(objects, 0, grown, 0, objectCount);
+      objects = grown;
+    }
+    objects[objectCount++] = value;
+  }
+}
@@ -35,7 +35,7 @@ public final class WebGLActiveInfo extends JavaScriptObject {
    * 
    * @return the name of the requested variable
    */
-  public native int getName() /*-{
+  public native String getName() /*-{
 		return this.name;
   }-*/;
 
@@ -16,6 +16,8 @@ package com.google.gwt.typedarrays;
 import com.google.gwt.junit.DoNotRunWith;
 import com.google.gwt.junit.Platform;
 import com.google.gwt.junit.tools.GWTTestSuite;
+import com.google.gwt.typedarrays.client.ArrayBufferArenaTest;
+import com.google.gwt.typedarrays.client.ArrayBufferPoolTest;
 import com.google.gwt.typedarrays.client.ArrayBufferTest;
 import com.google.gwt.typedarrays.client.ArrayBufferViewTest;
 import com.google.gwt.typedarrays.client.DataViewTest;
@@ -26,6 +28,8 @@ import com.google.gwt.typedarrays.client.Int32ArrayTest;
 import com.google.gwt.typedarrays.client.Int8ArrayTest;
 import com.google.gwt.typedarrays.client.IntBasedTypedArrayTest;
 import com.google.gwt.typedarrays.client.JsArrayUtilTest;
+import com.google.gwt.typedarrays.client.StructLayoutTest;
+import com.google.gwt.typedarrays.client.TypedArrayListTest;
 import com.google.gwt.typedarrays.client.TypedArrayTest;
 import com.google.gwt.typedarrays.client.Uint16ArrayTest;
 import com.google.gwt.typedarrays.client.Uint32ArrayTest;
@@ -62,6 +66,10 @@ public class TypedArraySuite {
     suite.addTestSuite(Float32ArrayTest.class);
     suite.addTestSuite(Float64ArrayTest.class);
     suite.addTestSuite(DataViewTest.class);
+    suite.addTestSuite(ArrayBufferPoolTest.class);
+    suite.addTestSuite(ArrayBufferArenaTest.class);
+    suite.addTestSuite(StructLayoutTest.class);
+    suite.addTestSuite(TypedArrayListTest.class);
 
     return suite;
   }
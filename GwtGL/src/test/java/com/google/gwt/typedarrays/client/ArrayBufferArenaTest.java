@@ -0,0 +1,84 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.gwt.typedarrays.client;
+
+import com.google.gwt.junit.DoNotRunWith;
+import com.google.gwt.junit.Platform;
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link ArrayBufferArena}.
+ * 
+ */
+@DoNotRunWith(Platform.HtmlUnitUnknown)
+public class ArrayBufferArenaTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    return "com.google.gwt.typedarrays.TypedArrays";
+  }
+
+  public void testAlignedAllocation() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferArena arena = new ArrayBufferArena(64);
+    Uint8Array bytes = arena.allocateUint8Array(3);
+    Float32Array floats = arena.allocateFloat32Array(2);
+    Uint16Array shorts = arena.allocateUint16Array(3);
+    Float64Array doubles = arena.allocateFloat64Array(1);
+
+    assertEquals(0, bytes.getByteOffset());
+    assertEquals(4, floats.getByteOffset());
+    assertEquals(12, shorts.getByteOffset());
+    assertEquals(24, doubles.getByteOffset());
+    assertEquals(32, arena.getUsedBytes());
+    assertEquals(32, arena.getRemainingBytes());
+    assertSame(arena.getBuffer(), floats.getBuffer());
+    assertEquals(32, arena.getUsedView().getLength());
+  }
+
+  public void testFull() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferArena arena = new ArrayBufferArena(16);
+    arena.allocateFloat32Array(3);
+    try {
+      arena.allocateFloat32Array(2);
+      fail("IllegalStateException expected");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    assertEquals(12, arena.getUsedBytes());
+  }
+
+  public void testReset() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferArena arena = new ArrayBufferArena(16);
+    arena.allocateInt32Array(4);
+    arena.reset();
+    assertEquals(0, arena.getUsedBytes());
+    assertEquals(0, arena.allocateInt32Array(4).getByteOffset());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.gwt.typedarrays.client;
+
+import com.google.gwt.junit.DoNotRunWith;
+import com.google.gwt.junit.Platform;
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link ArrayBufferPool}.
+ * 
+ */
+@DoNotRunWith(Platform.HtmlUnitUnknown)
+public class ArrayBufferPoolTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    return "com.google.gwt.typedarrays.TypedArrays";
+  }
+
+  public void testSizeClass() {
+    assertEquals(4, ArrayBufferPool.getSizeClass(0));
+    assertEquals(4, ArrayBufferPool.getSizeClass(16));
+    assertEquals(5, ArrayBufferPool.getSizeClass(17));
+    assertEquals(10, ArrayBufferPool.getSizeClass(1024));
+    assertEquals(11, ArrayBufferPool.getSizeClass(1025));
+  }
+
+  public void testAcquireRelease() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferPool pool = new ArrayBufferPool();
+    ArrayBuffer buffer = pool.acquire(100);
+    assertEquals(128, buffer.getByteLength());
+    assertEquals(0, pool.getHits());
+    assertEquals(1, pool.getMisses());
+
+    pool.release(buffer);
+    assertEquals(128, pool.getRetainedBytes());
+
+    assertSame(buffer, pool.acquire(65));
+    assertEquals(1, pool.getHits());
+    assertEquals(0, pool.getRetainedBytes());
+
+    // a different size class doesn't reuse the buffer
+    pool.release(buffer);
+    assertNotSame(buffer, pool.acquire(200));
+    assertEquals(2, pool.getMisses());
+  }
+
+  public void testTypedView() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferPool pool = new ArrayBufferPool();
+    Float32Array array = pool.acquireFloat32Array(10);
+    assertEquals(10, array.getLength());
+    assertEquals(64, array.getBuffer().getByteLength());
+
+    pool.release(array);
+    assertEquals(64, pool.getRetainedBytes());
+    Uint8Array bytes = pool.acquireUint8Array(50);
+    assertEquals(50, bytes.getLength());
+    assertSame(array.getBuffer(), bytes.getBuffer());
+  }
+
+  public void testReleaseForeignBuffer() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferPool pool = new ArrayBufferPool();
+    pool.release(ArrayBuffer.create(100));
+    assertEquals(0, pool.getRetainedBytes());
+  }
+
+  public void testTrim() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ArrayBufferPool pool = new ArrayBufferPool(256);
+    ArrayBuffer small = pool.acquire(64);
+    ArrayBuffer large = pool.acquire(256);
+    pool.release(small);
+    pool.release(large);
+    // the high-water mark drops the largest buffer first
+    assertEquals(64, pool.getRetainedBytes());
+
+    pool.trim(0);
+    assertEquals(0, pool.getRetainedBytes());
+    pool.acquire(64);
+    assertEquals(0, pool.getHits());
+  }
+}
@@ -151,6 +151,41 @@ public class Float32ArrayTest extends GWTTestCase {
     assertIsTestData(array);
   }
 
+  public void testSetJavaArrayRange() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+    
+    Float32Array array = Float32Array.create(testData.length);
+
+    array.set(testData, 0, testDataPart1.length, 0);
+    array.set(testData, testDataPart1.length, testDataPart2.length, testDataPart1.length);
+    assertIsTestData(array);
+  }
+
+  public void testSetJavaArrayRangeOutOfBounds() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+    
+    Float32Array array = Float32Array.create(testDataPart1.length);
+
+    try {
+      array.set(testData, 0, testData.length, 0);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+    try {
+      array.set(testDataPart1, 1, testDataPart1.length, 0);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+
   public void testSetJsArray() {
     if (!TypedArray.isSupported()) {
       // Typed Arrays aren't supported -> do not run the test
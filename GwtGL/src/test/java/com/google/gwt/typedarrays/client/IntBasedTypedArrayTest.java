@@ -107,6 +107,38 @@ public class IntBasedTypedArrayTest extends GWTTestCase {
     }
   }
   
+  public void testIntRange() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+    
+    int[] array = new int[] {0, 1, 2, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    Int32Array typedArray = Int32Array.create(4);
+    
+    typedArray.set(array, 1, 3, 1);
+    
+    assertEquals(0, typedArray.get(0));
+    for (int i = 1; i < 4; i++) {
+      assertEquals(array[i], typedArray.get(i));
+    }
+  }
+  
+  public void testShortRange() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+    
+    short[] array = new short[] {0, 1, 2, Short.MAX_VALUE, Short.MIN_VALUE};
+    Int16Array typedArray = Int16Array.create(2);
+    
+    typedArray.set(array, 3, 2, 0);
+    
+    assertEquals(Short.MAX_VALUE, typedArray.getShort(0));
+    assertEquals(Short.MIN_VALUE, typedArray.getShort(1));
+  }
+  
   public void testLong() {
     if (!TypedArray.isSupported()) {
       // Typed Arrays aren't supported -> do not run the test
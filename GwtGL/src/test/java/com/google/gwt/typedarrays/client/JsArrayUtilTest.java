@@ -46,6 +46,65 @@ public class JsArrayUtilTest extends GWTTestCase {
     }
   }
 
+  public void testWriteAndReadLongsInt32Array() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    long[] array = new long[] {0, -1, 4294967296L, Long.MAX_VALUE, Long.MIN_VALUE, -4294967297L};
+    Int32Array words = Int32Array.create(array.length * 2 + 1);
+    JsArrayUtil.writeLongs(array, 0, array.length, words, 1);
+    assertEquals(0, words.get(0));
+    assertEquals(-1, words.get(3));
+    assertEquals(-1, words.get(4));
+
+    long[] result = new long[array.length];
+    JsArrayUtil.readLongs(words, 1, array.length, result, 0);
+    for (int i = 0; i < array.length; i++) {
+      assertEquals(array[i], result[i]);
+    }
+  }
+
+  public void testWriteLongsInt32ArrayOutOfBounds() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    long[] array = new long[] {1, 2, 3};
+    Int32Array words = Int32Array.create(array.length * 2 - 1);
+    try {
+      JsArrayUtil.writeLongs(array, 0, array.length, words, 0);
+      fail("Expected IndexOutOfBoundsException");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+    try {
+      JsArrayUtil.writeLongs(array, 2, 2, Int32Array.create(8), 0);
+      fail("Expected IndexOutOfBoundsException");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+
+  public void testWriteAndReadLongsFloat64Array() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    long[] array = new long[] {0, -1, 4294967296L, 9007199254740992L, -9007199254740992L};
+    Float64Array values = Float64Array.create(array.length);
+    JsArrayUtil.writeLongs(array, 0, array.length, values, 0);
+
+    long[] result = new long[array.length];
+    JsArrayUtil.readLongs(values, 0, array.length, result, 0);
+    for (int i = 0; i < array.length; i++) {
+      assertEquals(array[i], result[i]);
+    }
+  }
+
   public void testUnwrapString() {
     JsArrayString wrappedArray = createTestdataJsArrayString();
 
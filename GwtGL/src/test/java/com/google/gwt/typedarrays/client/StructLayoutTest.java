@@ -0,0 +1,114 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.gwt.typedarrays.client;
+
+import com.google.gwt.junit.DoNotRunWith;
+import com.google.gwt.junit.Platform;
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link StructLayout}.
+ * 
+ */
+@DoNotRunWith(Platform.HtmlUnitUnknown)
+public class StructLayoutTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    return "com.google.gwt.typedarrays.TypedArrays";
+  }
+
+  private static StructLayout createVertexLayout() {
+    return new StructLayout().add("color", StructLayout.Type.UINT8, 3).add("position",
+        StructLayout.Type.FLOAT32, 3).add("uv", StructLayout.Type.INT16, 2);
+  }
+
+  public void testLayout() {
+    StructLayout layout = createVertexLayout();
+
+    assertEquals(0, layout.getField("color").getOffset());
+    assertEquals(4, layout.getField("position").getOffset());
+    assertEquals(3, layout.getField("position").getComponentIndex());
+    assertEquals(16, layout.getField("uv").getOffset());
+    assertEquals(20, layout.getStride());
+    assertEquals(8, layout.getComponentCount());
+    assertNull(layout.getField("normal"));
+  }
+
+  public void testWriteAndReadRecords() {
+    if (!DataView.isSupported()) {
+      // DataView isn't supported -> do not run the test
+      return;
+    }
+
+    StructLayout layout = createVertexLayout();
+    DataView view = DataView.create(ArrayBuffer.create(3 * layout.getStride()));
+    float[] records = new float[] {
+        255, 0, 128, 1.5f, -2f, 3.25f, -1, 32767,
+        1, 2, 3, 4f, 5f, 6f, 7, 8};
+
+    layout.writeRecords(view, 1, 2, records);
+
+    float[] record = new float[layout.getComponentCount()];
+    layout.readRecord(view, 0, record);
+    for (float value : record) {
+      assertEquals(0f, value);
+    }
+
+    float[] read = new float[records.length];
+    layout.readRecords(view, 1, 2, read);
+    for (int i = 0; i < records.length; i++) {
+      assertEquals(records[i], read[i]);
+    }
+    assertEquals(1.5f, view.getFloat32(layout.getStride() + 4, true));
+  }
+
+  public void testReadUint32() {
+    if (!DataView.isSupported()) {
+      // DataView isn't supported -> do not run the test
+      return;
+    }
+
+    StructLayout layout = new StructLayout().add("id", StructLayout.Type.UINT32, 1);
+    DataView view = DataView.create(ArrayBuffer.create(layout.getStride()));
+    view.setInt32(0, -256, true);
+
+    float[] record = new float[1];
+    layout.readRecord(view, 0, record);
+    assertEquals(4294967040f, record[0]);
+  }
+
+  public void testOutOfBounds() {
+    if (!DataView.isSupported()) {
+      // DataView isn't supported -> do not run the test
+      return;
+    }
+
+    StructLayout layout = createVertexLayout();
+    DataView view = DataView.create(ArrayBuffer.create(layout.getStride()));
+    try {
+      layout.readRecord(view, 1, new float[layout.getComponentCount()]);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+    try {
+      layout.add("normal", StructLayout.Type.FLOAT32, 3);
+      fail("IllegalStateException expected");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+}
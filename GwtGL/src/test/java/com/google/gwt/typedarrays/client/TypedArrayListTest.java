@@ -0,0 +1,97 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.google.gwt.typedarrays.client;
+
+import com.google.gwt.junit.DoNotRunWith;
+import com.google.gwt.junit.Platform;
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Tests for {@link TypedArrayList} and its subclasses.
+ * 
+ */
+@DoNotRunWith(Platform.HtmlUnitUnknown)
+public class TypedArrayListTest extends GWTTestCase {
+
+  @Override
+  public String getModuleName() {
+    return "com.google.gwt.typedarrays.TypedArrays";
+  }
+
+  public void testFloatListGrows() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    FloatList list = new FloatList(2);
+    for (int i = 0; i < 10; i++) {
+      list.add(i, i + 0.5f, -i);
+    }
+    assertEquals(30, list.size());
+    assertTrue(list.getCapacity() >= 30);
+    for (int i = 0; i < 10; i++) {
+      assertEquals((float) i, list.get(i * 3));
+      assertEquals(i + 0.5f, list.get(i * 3 + 1));
+      assertEquals((float) -i, list.get(i * 3 + 2));
+    }
+
+    Float32Array array = list.getArray();
+    assertEquals(30, array.getLength());
+    assertEquals(4.5f, array.get(13));
+
+    list.trimToSize();
+    assertEquals(30, list.getCapacity());
+    assertEquals(30, list.toArray().length);
+  }
+
+  public void testIntListAddAll() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    IntList list = new IntList(0);
+    list.add(-1);
+    list.addAll(new int[] {1, 2, 3});
+    list.set(0, Integer.MAX_VALUE);
+    assertEquals(4, list.size());
+    assertEquals(Integer.MAX_VALUE, list.get(0));
+    assertEquals(3, list.getArray().get(3));
+
+    try {
+      list.get(4);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+
+    list.clear();
+    assertTrue(list.isEmpty());
+  }
+
+  public void testShortList() {
+    if (!TypedArray.isSupported()) {
+      // Typed Arrays aren't supported -> do not run the test
+      return;
+    }
+
+    ShortList list = new ShortList();
+    list.add(0, 1, 65535);
+    assertEquals(3, list.size());
+    assertEquals(65535, list.get(2));
+    assertEquals(3, list.getArray().getLength());
+  }
+}
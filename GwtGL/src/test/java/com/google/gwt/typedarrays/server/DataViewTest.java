@@ -0,0 +1,67 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link DataView} of the pure Java implementation.
+ * 
+ */
+public class DataViewTest extends TestCase {
+
+  public void testBigEndianByDefault() {
+    ArrayBuffer buffer = ArrayBuffer.create(8);
+    DataView dataView = DataView.create(buffer);
+
+    dataView.setInt32(0, 0x01020304);
+    assertEquals(0x01, dataView.getUint8(0));
+    assertEquals(0x04, dataView.getUint8(3));
+    assertEquals(0x04030201, dataView.getInt32(0, true));
+  }
+
+  public void testLittleEndian() {
+    ArrayBuffer buffer = ArrayBuffer.create(8);
+    DataView dataView = DataView.create(buffer);
+
+    dataView.setUint16(1, 0xABCD, true);
+    assertEquals(0xCD, dataView.getUint8(1));
+    assertEquals(0xAB, dataView.getUint8(2));
+    assertEquals(0xABCD, dataView.getUint16(1, true));
+    assertEquals(0xCDAB, dataView.getUint16(1));
+  }
+
+  public void testFloatValues() {
+    ArrayBuffer buffer = ArrayBuffer.create(16);
+    DataView dataView = DataView.create(buffer);
+
+    dataView.setFloat32(1, 1337.5f, true);
+    dataView.setFloat64(5, -0.1);
+    assertEquals(1337.5f, dataView.getFloat32(1, true), 0f);
+    assertEquals(-0.1, dataView.getFloat64(5), 0);
+  }
+
+  public void testOffsetAndOverflow() {
+    ArrayBuffer buffer = ArrayBuffer.create(8);
+    DataView dataView = DataView.create(buffer, 2, 4);
+
+    assertEquals(2, dataView.getByteOffset());
+    assertEquals(4, dataView.getByteLength());
+
+    dataView.setInt16(0, 32768);
+    assertEquals(-32768, dataView.getInt16(0));
+    assertEquals(0x80, Uint8Array.create(buffer).get(2));
+  }
+
+}
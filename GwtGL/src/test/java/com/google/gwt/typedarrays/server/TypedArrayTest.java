@@ -0,0 +1,119 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.gwt.typedarrays.server;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link TypedArray} and subclasses of the pure Java implementation.
+ * 
+ */
+public class TypedArrayTest extends TestCase {
+
+  public void testSubarraySharesBuffer() {
+    Float32Array array = Float32Array.create(new float[] {0f, 1f, 2f, 3f, 4f});
+    Float32Array subarray = array.subarray(1, 4);
+
+    assertSame(array.getBuffer(), subarray.getBuffer());
+    assertEquals(3, subarray.getLength());
+    assertEquals(Float32Array.BYTES_PER_ELEMENT, subarray.getByteOffset());
+
+    subarray.set(0, 1337f);
+    assertEquals(1337f, array.get(1), 0f);
+  }
+
+  public void testSubarrayWithNegativeIndices() {
+    Int16Array array = Int16Array.create(new int[] {0, 1, 2, 3, 4});
+    Int16Array subarray = array.subarray(-2);
+
+    assertEquals(2, subarray.getLength());
+    assertEquals(3, subarray.get(0));
+    assertEquals(0, array.subarray(3, 1).getLength());
+  }
+
+  public void testSetOverlappingTypedArray() {
+    Int32Array array = Int32Array.create(new int[] {0, 1, 2, 3, 4, 5});
+    array.set(array.subarray(0, 4), 2);
+
+    int[] expected = new int[] {0, 1, 0, 1, 2, 3};
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], array.get(i));
+    }
+  }
+
+  public void testSetOutOfRange() {
+    Float64Array array = Float64Array.create(2);
+    try {
+      array.set(new double[] {1, 2}, 1);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+
+  public void testNativeByteOrder() {
+    ArrayBuffer buffer = ArrayBuffer.create(4);
+    Int32Array.create(buffer).set(0, 0x01020304);
+
+    Uint8Array bytes = Uint8Array.create(buffer);
+    if (java.nio.ByteOrder.nativeOrder() == java.nio.ByteOrder.LITTLE_ENDIAN) {
+      assertEquals(0x04, bytes.get(0));
+    } else {
+      assertEquals(0x01, bytes.get(0));
+    }
+  }
+
+  public void testUnalignedOffset() {
+    try {
+      Float32Array.create(ArrayBuffer.create(8), 2);
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testCreateConverts() {
+    Float32Array floats = Float32Array.create(new float[] {1.9f, -1.9f, 300f});
+    Int8Array bytes = Int8Array.create(floats);
+
+    assertEquals(1, bytes.get(0));
+    assertEquals(-1, bytes.get(1));
+    assertEquals(44, bytes.get(2));
+  }
+
+  public void testUnsignedValues() {
+    Uint32Array array = Uint32Array.create(new long[] {4294967295L, 4294967294L});
+    assertEquals(4294967295L, array.getLong(0));
+    assertEquals(4294967294L, array.getLong(1));
+
+    Uint16Array shorts = Uint16Array.create(new int[] {65535, 65536});
+    assertEquals(65535, shorts.get(0));
+    assertEquals(0, shorts.get(1));
+  }
+
+  public void testClamping() {
+    Uint8ClampedArray array = Uint8ClampedArray.create(new int[] {-5, 5, 300});
+    assertEquals(0, array.get(0));
+    assertEquals(5, array.get(1));
+    assertEquals(255, array.get(2));
+
+    Uint8ClampedArray rounded = Uint8ClampedArray.create(Float64Array.create(new double[] {
+        1.5, 2.5, Double.NaN, 254.7}));
+    assertEquals(2, rounded.get(0));
+    assertEquals(2, rounded.get(1));
+    assertEquals(0, rounded.get(2));
+    assertEquals(255, rounded.get(3));
+  }
+
+}
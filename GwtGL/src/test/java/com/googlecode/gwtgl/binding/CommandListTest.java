@@ -0,0 +1,110 @@
+/*
+ * Copyright 2009-2011 Sönke Sothmann, Steffen Schäfer and others
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.googlecode.gwtgl.binding;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the encoding of {@link CommandList}. Replaying needs a browser, so only the recorded
+ * streams are checked.
+ * 
+ */
+public class CommandListTest extends TestCase {
+
+  public void testEncoding() {
+    CommandList list = new CommandList();
+    list.bindBuffer(WebGLRenderingContext.ARRAY_BUFFER, null);
+    list.vertexAttribPointer(1, 3, WebGLRenderingContext.FLOAT, true, 12, 24);
+    list.uniform3f(null, 1, 2, 3);
+    list.drawArrays(WebGLRenderingContext.TRIANGLES, 0, 36);
+
+    assertEquals(4, list.size());
+    int[] expectedInts = new int[] {
+        CommandList.BIND_BUFFER, WebGLRenderingContext.ARRAY_BUFFER,
+        CommandList.VERTEX_ATTRIB_POINTER, 1, 3, WebGLRenderingContext.FLOAT, 1, 12, 24,
+        CommandList.UNIFORM3F,
+        CommandList.DRAW_ARRAYS, WebGLRenderingContext.TRIANGLES, 0, 36};
+    assertEquals(expectedInts.length, list.getIntCount());
+    for (int i = 0; i < expectedInts.length; i++) {
+      assertEquals("int " + i, expectedInts[i], list.getInts()[i]);
+    }
+    assertEquals(3, list.getFloatCount());
+    assertEquals(2f, list.getFloats()[1]);
+    assertEquals(2, list.getObjectCount());
+    assertFalse(list.bindsElementArrayBuffer());
+
+    list.bindBuffer(WebGLRenderingContext.ELEMENT_ARRAY_BUFFER, null);
+    assertTrue(list.bindsElementArrayBuffer());
+  }
+
+  public void testPatchSlots() {
+    CommandList list = new CommandList();
+    list.clearColor(0, 0, 0, 1);
+    int colorSlot = list.uniform4f(null, 1, 1, 1, 1);
+    int samplerSlot = list.uniform1i(null, 0);
+    int matrixSlot = list.uniformMatrix2fv(null, false, new float[] {1, 0, 0, 1});
+
+    list.patch(colorSlot, 0.5f, 0.25f, 0.125f, 1);
+    list.patchInt(samplerSlot, 3);
+    list.patch(matrixSlot, new float[] {2, 3, 4, 5});
+
+    assertEquals(0.5f, list.getFloats()[colorSlot]);
+    assertEquals(0.125f, list.getFloats()[colorSlot + 2]);
+    assertEquals(3, list.getInts()[samplerSlot]);
+    assertEquals(5f, list.getFloats()[matrixSlot + 3]);
+    // the clear color is not affected
+    assertEquals(1f, list.getFloats()[3]);
+  }
+
+  public void testInvalidPatchSlot() {
+    CommandList list = new CommandList();
+    int slot = list.uniform2f(null, 1, 2);
+    try {
+      list.patch(slot, 1, 2, 3);
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+
+  public void testWrongMatrixSize() {
+    CommandList list = new CommandList();
+    try {
+      list.uniformMatrix4fv(null, false, new float[9]);
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testGrowAndReset() {
+    CommandList list = new CommandList();
+    for (int i = 0; i < 100; i++) {
+      list.useProgram(null);
+      list.uniform1f(null, i);
+      list.drawElements(WebGLRenderingContext.TRIANGLES, 6, WebGLRenderingContext.UNSIGNED_SHORT,
+          i * 12);
+    }
+    assertEquals(300, list.size());
+    assertEquals(100, list.getFloatCount());
+    assertEquals(99f, list.getFloats()[99]);
+
+    list.reset();
+    assertEquals(0, list.size());
+    assertEquals(0, list.getIntCount());
+    assertEquals(0, list.getFloatCount());
+    assertEquals(0, list.getObjectCount());
+    assertFalse(list.bindsElementArrayBuffer());
+  }
+}